@@ -0,0 +1,70 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.storage.CachingStorage;
+import com.project.gamevaultcli.storage.GameStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game lookups straight from the storage against lookups through a cache of 10,000 entries.
+ * Nine in ten lookups go to a hot set of 1,000 games, the rest to any of the catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CachingStorageBenchmark {
+
+    @Param({"none", "lru"})
+    public String cache;
+
+    @Param({"100000"})
+    public int size;
+
+    private StorageInterface<Game, Integer> games;
+    private int firstId;
+
+    @Setup
+    public void fill() {
+        GameStorage storage = new GameStorage();
+        storage.restoreClear();
+        List<Game> catalog = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            catalog.add(new Game("Game " + i, "Description " + i, "Developer " + (i % 100), "PC", 9.99f, null));
+        }
+        storage.saveAll(catalog);
+        firstId = catalog.get(0).getGameId();
+        if (cache.equals("lru")) {
+            CachingStorage<Game, Integer> cached = new CachingStorage<>(storage, Game::getGameId, 10_000, 0);
+            storage.changes().subscribe(cached.invalidator());
+            games = cached;
+        } else {
+            games = storage;
+        }
+    }
+
+    @Benchmark
+    public Game findById() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(10) == 0 ? random.nextInt(size) : random.nextInt(1000);
+        return games.findById(firstId + index);
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.management.CartManagement;
+import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.storage.GameStorage;
+import com.project.gamevaultcli.utils.StripedLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds a game to a cart already holding {@code cartSize} games, then removes it again so
+ * the cart keeps its size from one invocation to the next.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CartBenchmark {
+
+    private static final int USER_ID = 1;
+
+    @Param({"0", "10", "100", "10000"})
+    public int cartSize;
+
+    private CartManagement cartManagement;
+    private Game game;
+
+    @Setup
+    public void setUp() {
+        cartManagement = new CartManagement(new CartStorage(), new GameStorage(), new StripedLock(64));
+        for (int i = 0; i < cartSize; i++) {
+            cartManagement.addGameToCart(USER_ID, new Game(i + 1, "Game " + i, "", "Developer", "PC", 9.99f, null));
+        }
+        game = new Game(cartSize + 1, "Added game", "", "Developer", "PC", 19.99f, null);
+    }
+
+    @Benchmark
+    public void addGameToCart() {
+        cartManagement.addGameToCart(USER_ID, game);
+        cartManagement.removeGameFromCart(USER_ID, game);
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.exceptions.CartEmptyException;
+import com.project.gamevaultcli.management.CartManagement;
+import com.project.gamevaultcli.management.OrderManagement;
+import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.storage.GameStorage;
+import com.project.gamevaultcli.storage.OrderStorage;
+import com.project.gamevaultcli.storage.UserStorage;
+import com.project.gamevaultcli.utils.StripedLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Add-to-cart plus checkout. {@code addToCartAndCheckout} gives every benchmark thread its
+ * own user; run it with {@code -t 1,2,4,8} to see how checkout throughput scales with cores
+ * when users don't share a lock stripe. {@code sameUserCheckout} has four threads shopping
+ * for one user, so every call contends on that user's lock.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shop {
+        UserStorage userStorage;
+        CartManagement cartManagement;
+        OrderManagement orderManagement;
+        final AtomicInteger nextUser = new AtomicInteger();
+        final Game game = new Game(1001, "Game", "", "", "PC", 1.0f, null);
+        int sharedUserId;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            userStorage = new UserStorage();
+            CartStorage cartStorage = new CartStorage();
+            GameStorage gameStorage = new GameStorage();
+            StripedLock userLocks = new StripedLock(64);
+            cartManagement = new CartManagement(cartStorage, gameStorage, userLocks);
+            orderManagement = new OrderManagement(new OrderStorage(), cartStorage, userStorage, gameStorage, userLocks);
+            User shared = new User("shared@example.com", "password", "shared", Float.MAX_VALUE);
+            userStorage.save(shared);
+            sharedUserId = shared.getUserId();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Shopper {
+        int userId;
+
+        @Setup(Level.Iteration)
+        public void setUp(Shop shop) {
+            User user = new User("shopper" + shop.nextUser.incrementAndGet() + "@example.com", "password", "shopper", 1_000_000f);
+            shop.userStorage.save(user);
+            userId = user.getUserId();
+        }
+    }
+
+    @Benchmark
+    public void addToCartAndCheckout(Shop shop, Shopper shopper) {
+        shop.cartManagement.addGameToCart(shopper.userId, shop.game);
+        shop.orderManagement.placeOrder(shopper.userId);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void sameUserCheckout(Shop shop) {
+        shop.cartManagement.addGameToCart(shop.sharedUserId, shop.game);
+        try {
+            shop.orderManagement.placeOrder(shop.sharedUserId);
+        } catch (CartEmptyException e) {
+            // Another thread checked out this game already
+        }
+    }
+}
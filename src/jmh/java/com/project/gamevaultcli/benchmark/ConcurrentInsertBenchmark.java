@@ -0,0 +1,45 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.storage.GameStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Several writers saving into one shared {@link GameStorage}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConcurrentInsertBenchmark {
+
+    private GameStorage storage;
+
+    @Setup(Level.Iteration)
+    public void createStorage() {
+        storage = new GameStorage();
+    }
+
+    @Benchmark
+    public int save() {
+        Game game = new Game("Game", "Description", "Developer", "PC", 9.99f, null);
+        storage.save(game);
+        return game.getGameId();
+    }
+}
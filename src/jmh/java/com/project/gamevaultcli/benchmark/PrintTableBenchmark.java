@@ -0,0 +1,116 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.utils.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a game list to a discarding stdout, comparing the previous per-cell reflection
+ * in printTable with the cached column accessors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrintTableBenchmark {
+
+    private static final List<String> COLUMNS = Arrays.asList("gameId", "title", "developer", "platform", "price", "description");
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private List<Game> games;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        games = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            games.add(new Game(i, "Game " + i, "Description " + i, "Developer " + (i % 100), "PC", 9.99f, new Date()));
+        }
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void legacyReflection() {
+        LegacyUtil.printTable(games, COLUMNS);
+    }
+
+    @Benchmark
+    public void cachedAccessors() {
+        Util.printTable(games, COLUMNS);
+    }
+
+    /** printTable as it was before column accessors were cached. */
+    static class LegacyUtil {
+
+        static <T> void printTable(List<T> data, List<String> columnNames) {
+            List<Integer> maxColumnLengths = new ArrayList<>();
+            for (String columnName : columnNames) {
+                maxColumnLengths.add(columnName.length());
+            }
+            for (T item : data) {
+                for (int i = 0; i < columnNames.size(); i++) {
+                    try {
+                        Field field = item.getClass().getDeclaredField(columnNames.get(i));
+                        field.setAccessible(true);
+                        Object value = field.get(item);
+                        String stringValue = (value != null) ? value.toString() : "null";
+                        maxColumnLengths.set(i, Math.max(maxColumnLengths.get(i), stringValue.length()));
+                    } catch (NoSuchFieldException | IllegalAccessException e) {
+                        maxColumnLengths.set(i, columnNames.get(i).length());
+                    }
+                }
+            }
+            StringBuilder formatBuilder = new StringBuilder();
+            for (int maxLength : maxColumnLengths) {
+                formatBuilder.append("| %-").append(maxLength).append("s ");
+            }
+            formatBuilder.append("|%n");
+            String format = formatBuilder.toString();
+            System.out.printf(format, columnNames.toArray());
+            for (T item : data) {
+                Object[] rowData = new Object[columnNames.size()];
+                for (int i = 0; i < columnNames.size(); i++) {
+                    try {
+                        Field field = item.getClass().getDeclaredField(columnNames.get(i));
+                        field.setAccessible(true);
+                        Object value = field.get(item);
+                        rowData[i] = (value != null) ? value.toString() : "null";
+                    } catch (NoSuchFieldException | IllegalAccessException e) {
+                        rowData[i] = "ERROR";
+                    }
+                }
+                System.out.printf(format, rowData);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Cart;
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.OrderLineItems;
+import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.storage.ConcurrentStorage;
+import com.project.gamevaultcli.storage.StorageBackends;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Point reads, updates and insert/delete pairs against every storage, pre-filled with
+ * {@code size} records, on the heap or in a B+tree file. Insert/delete keeps the table size
+ * steady across iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageCrudBenchmark {
+
+    @Param({"users", "games", "carts", "orders", "transactions"})
+    public String storage;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"heap", "disk"})
+    public String backend;
+
+    private Table<?> table;
+
+    @Setup
+    public void fill() throws IOException {
+        StorageBackends backends = backend.equals("disk")
+                ? new StorageBackends(StorageBackends.Backend.DISK, new HashMap<>(), Files.createTempDirectory("gamevault-bench"), 4096)
+                : StorageBackends.heap();
+        switch (storage) {
+            case "users":
+                table = new Table<>(backends.users(), i -> new User("user" + i + "@example.com", "password", "user" + i, 100f), User::getUserId);
+                break;
+            case "games":
+                table = new Table<>(backends.games(), i -> new Game("Game " + i, "Description " + i, "Developer " + (i % 100), "PC", 9.99f, null), Game::getGameId);
+                break;
+            case "carts":
+                // Carts are keyed by their user rather than by a sequence
+                table = new Table<>(backends.carts(), i -> new Cart(i + 1), Cart::getUserId);
+                break;
+            case "orders":
+                table = new Table<>(backends.orders(), i -> new Order(i % 1000 + 1, OrderLineItems.EMPTY, 9.99), Order::getOrderId);
+                break;
+            case "transactions":
+                table = new Table<>(backends.transactions(), i -> new Transaction(null, i % 1000 + 1, 1, "Purchase", 9.99f, null), Transaction::getTransactionId);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown storage: " + storage);
+        }
+        table.fill(size);
+    }
+
+    @Benchmark
+    public Object findById() {
+        return table.find(table.randomId());
+    }
+
+    @Benchmark
+    public void update() {
+        table.update(table.randomId());
+    }
+
+    @Benchmark
+    public void insertAndDelete() {
+        table.insertAndDelete();
+    }
+
+    private static final class Table<T> {
+        private final ConcurrentStorage<T> storage;
+        private final IntFunction<T> factory;
+        private final ToIntFunction<T> idOf;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private int firstId;
+        private int size;
+
+        private Table(ConcurrentStorage<T> storage, IntFunction<T> factory, ToIntFunction<T> idOf) {
+            this.storage = storage;
+            this.factory = factory;
+            this.idOf = idOf;
+        }
+
+        // Replaces whatever the storage seeded itself with by size records with consecutive IDs
+        private void fill(int size) {
+            storage.restoreClear();
+            List<T> entities = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entities.add(factory.apply(i));
+            }
+            storage.saveAll(entities);
+            firstId = idOf.applyAsInt(entities.get(0));
+            this.size = size;
+            nextIndex.set(size);
+        }
+
+        private int randomId() {
+            return firstId + ThreadLocalRandom.current().nextInt(size);
+        }
+
+        private T find(int id) {
+            return storage.findById(id);
+        }
+
+        private void update(int id) {
+            T entity = storage.findById(id);
+            if (entity != null) {
+                storage.update(entity);
+            }
+        }
+
+        private void insertAndDelete() {
+            T entity = factory.apply(nextIndex.getAndIncrement());
+            storage.save(entity);
+            storage.delete(idOf.applyAsInt(entity));
+        }
+    }
+}
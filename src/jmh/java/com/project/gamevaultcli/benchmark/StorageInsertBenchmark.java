@@ -0,0 +1,77 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.storage.GameStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts {@code size} games into an empty storage, comparing the previous
+ * max-key-scan HashMap storage with {@link GameStorage}.
+ * The legacy storage is quadratic, so run the 1M case explicitly:
+ * {@code java -jar target/benchmarks.jar StorageInsertBenchmark -p size=1000000}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageInsertBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private Game[] games;
+
+    @Setup(Level.Iteration)
+    public void createGames() {
+        games = new Game[size];
+        for (int i = 0; i < size; i++) {
+            games[i] = new Game("Game " + i, "Description " + i, "Developer " + (i % 100), "PC", 9.99f, null);
+        }
+    }
+
+    @Benchmark
+    public Object legacyHashMapStorage() {
+        LegacyGameStorage storage = new LegacyGameStorage();
+        for (Game game : games) {
+            storage.save(game);
+        }
+        return storage;
+    }
+
+    @Benchmark
+    public Object concurrentStorage() {
+        GameStorage storage = new GameStorage();
+        for (Game game : games) {
+            storage.save(game);
+        }
+        return storage;
+    }
+
+    /** The save() path every storage used before ConcurrentStorage. */
+    static class LegacyGameStorage {
+        private final Map<Integer, Game> games = new HashMap<>();
+
+        void save(Game game) {
+            int nextId = games.keySet().stream().max(Integer::compare).orElse(0) + 1;
+            game.setGameId(nextId);
+            games.put(nextId, game);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.gamevaultcli.benchmark;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.utils.Util;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * printTable on a tall table (100k games, 6 columns) and a wide one (1k rows, 24 columns
+ * of longer values), rendered to a discarding stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableShapeBenchmark {
+
+    private static final List<String> GAME_COLUMNS = Arrays.asList("gameId", "title", "developer", "platform", "price", "description");
+    private static final List<String> WIDE_COLUMNS = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < 24; i++) {
+            WIDE_COLUMNS.add(String.format("c%02d", i));
+        }
+    }
+
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+    private List<Game> tallRows;
+    private List<WideRow> wideRows;
+
+    @Setup
+    public void setUp() {
+        tallRows = new ArrayList<>(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            tallRows.add(new Game(i, "Game " + i, "Description " + i, "Developer " + (i % 100), "PC", 9.99f, new Date()));
+        }
+        wideRows = new ArrayList<>(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            wideRows.add(new WideRow(i));
+        }
+    }
+
+    @Benchmark
+    public void tall() {
+        Util.printTable(tallRows, GAME_COLUMNS, out);
+    }
+
+    @Benchmark
+    public void wide() {
+        Util.printTable(wideRows, WIDE_COLUMNS, out);
+    }
+
+    static class WideRow {
+        private final String c00, c01, c02, c03, c04, c05, c06, c07, c08, c09, c10, c11;
+        private final String c12, c13, c14, c15, c16, c17, c18, c19, c20, c21, c22, c23;
+
+        WideRow(int i) {
+            String v = "value-" + i + "-" + Integer.toHexString(i * 31);
+            c00 = v; c01 = v; c02 = v; c03 = v; c04 = v; c05 = v; c06 = v; c07 = v; c08 = v; c09 = v; c10 = v; c11 = v;
+            c12 = v; c13 = v; c14 = v; c15 = v; c16 = v; c17 = v; c18 = v; c19 = v; c20 = v; c21 = v; c22 = v; c23 = v;
+        }
+    }
+}
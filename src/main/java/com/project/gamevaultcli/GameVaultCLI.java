@@ -1,41 +1,268 @@
 package com.project.gamevaultcli;
 
-import com.project.gamevaultcli.management.GameVaultManagement;
+import com.project.gamevaultcli.batch.BatchRunner;
+import com.project.gamevaultcli.exceptions.PersistenceException;
+import com.project.gamevaultcli.importer.BulkImporter;
+import com.project.gamevaultcli.importer.ImportResult;
 import com.project.gamevaultcli.management.GameVaultMenu;
-import com.project.gamevaultcli.management.CartManagement;
-import com.project.gamevaultcli.management.GameManagement;
-import com.project.gamevaultcli.management.OrderManagement;
-import com.project.gamevaultcli.management.TransactionManagement;
-import com.project.gamevaultcli.management.UserManagement;
-import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.metrics.MetricsDumper;
+import com.project.gamevaultcli.metrics.StartupTimeline;
+import com.project.gamevaultcli.persistence.EntityCodecs;
+import com.project.gamevaultcli.persistence.FsyncPolicy;
+import com.project.gamevaultcli.persistence.GameSnapshot;
+import com.project.gamevaultcli.persistence.WriteAheadLog;
+import com.project.gamevaultcli.server.GameVaultServer;
 import com.project.gamevaultcli.storage.GameStorage;
-import com.project.gamevaultcli.storage.OrderStorage;
-import com.project.gamevaultcli.storage.TransactionStorage;
-import com.project.gamevaultcli.storage.UserStorage;
+import com.project.gamevaultcli.storage.StorageBackends;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameVaultCLI {
 
     public static void main(String[] args) {
-        // Initialize Storages
-        UserStorage userStorage = new UserStorage();
-        GameStorage gameStorage = new GameStorage();
-        CartStorage cartStorage = new CartStorage();
-        OrderStorage orderStorage = new OrderStorage();
-        TransactionStorage transactionStorage = new TransactionStorage();
-
-        // Initialize Managements
-        UserManagement userManagement = new UserManagement(userStorage);
-        GameManagement gameManagement = new GameManagement(gameStorage);
-        CartManagement cartManagement = new CartManagement(cartStorage);
-        OrderManagement orderManagement = new OrderManagement(orderStorage, cartStorage, userStorage);
-        TransactionManagement transactionManagement = new TransactionManagement(transactionStorage);
-
-        // Initialize and load predefined data using the GameVaultManager
-        GameVaultManagement vaultManager = new GameVaultManagement(userManagement, gameManagement, orderManagement, transactionManagement);
-        vaultManager.initializeData();
+        // Storages and managements are only built on first use; -Dgamevault.storage=disk keeps the records in B+tree files instead of the heap
+        long contextStart = StartupTimeline.begin();
+        GameVaultContext context;
+        try {
+            context = new GameVaultContext(StorageBackends.fromSystemProperties());
+        } catch (UncheckedIOException | IllegalArgumentException e) {
+            System.out.println("Error opening storage: " + e.getMessage());
+            return;
+        }
+        StartupTimeline.record("context", contextStart);
+
+        // Append operation stats to a file periodically when configured (-Dgamevault.metrics.dump=<file>)
+        String metricsDump = System.getProperty("gamevault.metrics.dump");
+        if (metricsDump != null) {
+            MetricsDumper dumper = new MetricsDumper(Paths.get(metricsDump));
+            dumper.start(Long.getLong("gamevault.metrics.dumpIntervalSec", 60));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dumper.dump();
+                } catch (IOException e) {
+                    System.err.println("Error writing metrics: " + e.getMessage());
+                }
+            }));
+        }
+
+        // The menu and the server come up right away and wait for the data on first use; the other modes need it first
+        CompletableFuture<Void> loading;
+        if (args.length == 0 || args[0].equals("server")) {
+            loading = context.loadInBackground(() -> {
+                if (!load(context)) {
+                    throw new IllegalStateException("the stored data could not be opened");
+                }
+            });
+        } else if (!load(context)) {
+            return;
+        } else {
+            loading = CompletableFuture.completedFuture(null);
+        }
+
+        // "snapshot-games <file>" writes the current catalog as a snapshot and exits
+        if (args.length == 2 && args[0].equals("snapshot-games")) {
+            try {
+                GameSnapshot.write(Paths.get(args[1]), context.getGameManagement().getAllGames());
+                System.out.println("Catalog snapshot written to " + args[1]);
+            } catch (IOException e) {
+                System.out.println("Error writing catalog snapshot: " + e.getMessage());
+            }
+            return;
+        }
+
+        // "server [port|socket-path]" serves one menu session per local connection, all sharing the managements
+        if (args.length >= 1 && args[0].equals("server")) {
+            String address = args.length >= 2 ? args[1] : String.valueOf(GameVaultServer.DEFAULT_PORT);
+            try (GameVaultServer server = GameVaultServer.bind(address, (in, out) -> context.newMenu(in, out).run())) {
+                System.out.println("Game Vault server listening on " + server.getAddress());
+                // Stop accepting sessions if the data never loads
+                loading.whenComplete((ignored, failure) -> {
+                    if (failure != null) {
+                        try {
+                            server.close();
+                        } catch (IOException e) {
+                            System.err.println("Error closing server: " + e.getMessage());
+                        }
+                    }
+                });
+                server.serve();
+            } catch (IOException e) {
+                System.out.println("Error running server: " + e.getMessage());
+            }
+            if (loading.isCompletedExceptionally()) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        // "import games|users <file> [reject-file]" bulk loads a CSV or JSON Lines file
+        if (args.length >= 3 && args[0].equals("import") && (args[1].equals("games") || args[1].equals("users"))) {
+            BulkImporter importer = new BulkImporter(context.getUserManagement(), context.getGameManagement());
+            String rejectFile = args.length >= 4 ? args[3] : args[2] + ".rejects";
+            try {
+                ImportResult result = args[1].equals("games")
+                        ? importer.importGames(Paths.get(args[2]), Paths.get(rejectFile))
+                        : importer.importUsers(Paths.get(args[2]), Paths.get(rejectFile));
+                System.out.printf("Imported %d %s in %d ms, %d rejected%s%n", result.getImported(), args[1], result.getElapsedMillis(),
+                        result.getRejected(), result.getRejected() > 0 ? " (see " + rejectFile + ")" : "");
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Error importing " + args[1] + ": " + e.getMessage());
+            }
+            return;
+        }
+
+        // "batch [script|-] [--quiet]" runs one command per line from the script or stdin, without the menu
+        if (args.length >= 1 && args[0].equals("batch")) {
+            List<String> options = Arrays.asList(args).subList(1, args.length);
+            boolean quiet = options.contains("--quiet");
+            String script = options.stream().filter(option -> !option.equals("--quiet")).findFirst().orElse("-");
+            PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false, StandardCharsets.UTF_8);
+            BatchRunner runner = new BatchRunner(context.getUserManagement(), context.getGameManagement(), context.getCartManagement(), context.getOrderManagement(),
+                    context.getTransactionManagement(), out, System.err, quiet);
+            long start = System.nanoTime();
+            try (Reader reader = script.equals("-")
+                    ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                    : Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8)) {
+                runner.run(reader);
+            } catch (IOException e) {
+                System.err.println("Error reading batch script: " + e.getMessage());
+            }
+            System.err.printf("Batch finished: %d commands, %d failed in %d ms%n",
+                    runner.getCommandCount(), runner.getFailureCount(), (System.nanoTime() - start) / 1_000_000);
+            return;
+        }
 
         //Create and run the menu
-        GameVaultMenu menu = new GameVaultMenu(userManagement, gameManagement, cartManagement, orderManagement, transactionManagement, vaultManager);
+        GameVaultMenu menu = context.newMenu(System.in, System.out);
+        StartupTimeline.record("first prompt", StartupTimeline.begin());
         menu.run();
+        if (loading.isCompletedExceptionally()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Opens the storages and attaches the catalog snapshot side by side, then replays the
+     * write-ahead log and adds the predefined data unless earlier state was restored. Returns
+     * false if something could not be opened.
+     */
+    private static boolean load(GameVaultContext context) {
+        try {
+            GameStorage gameStorage = openStorages(context);
+            if (gameStorage == null) {
+                return false;
+            }
+
+            // Replay the write-ahead log when persistence is enabled (-Dgamevault.wal=<file>)
+            int replayed = 0;
+            String walFile = System.getProperty("gamevault.wal");
+            if (walFile != null) {
+                // "group" hands records to a writer thread that forces them in groups within the interval
+                FsyncPolicy fsyncPolicy = FsyncPolicy.valueOf(System.getProperty("gamevault.wal.fsync", "group").toUpperCase(Locale.ROOT));
+                long fsyncIntervalMillis = Long.getLong("gamevault.wal.fsyncIntervalMs", fsyncPolicy == FsyncPolicy.GROUP ? 2 : 1000);
+                int checkpointEvery = Integer.getInteger("gamevault.wal.checkpointEvery", 10000);
+                int queueCapacity = Integer.getInteger("gamevault.wal.queueCapacity", WriteAheadLog.DEFAULT_QUEUE_CAPACITY);
+                WriteAheadLog log = new WriteAheadLog(Paths.get(walFile), fsyncPolicy, fsyncIntervalMillis, checkpointEvery, queueCapacity);
+                log.register("users", context.getUserStorage(), EntityCodecs.USER);
+                log.register("games", gameStorage, EntityCodecs.GAME);
+                log.register("carts", context.getCartStorage(), EntityCodecs.CART);
+                log.register("orders", context.getOrderStorage(), EntityCodecs.ORDER);
+                log.register("transactions", context.getTransactionStorage(), EntityCodecs.TRANSACTION);
+                long start = StartupTimeline.begin();
+                try {
+                    replayed = log.open();
+                } catch (IOException e) {
+                    System.out.println("Error opening write-ahead log: " + e.getMessage());
+                    return false;
+                }
+                StartupTimeline.record("replay write-ahead log", start, replayed + " records");
+                // The revenue analytics are built after this, so their totals include the replayed sales
+                if (Boolean.getBoolean("gamevault.wal.durableCheckout")) {
+                    context.getOrderManagement().setDurability(log);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        log.close();
+                    } catch (IOException e) {
+                        System.err.println("Error closing write-ahead log: " + e.getMessage());
+                    }
+                }));
+            }
+
+            // Initialize and load predefined data using the GameVaultManager, unless the log restored earlier state
+            if (replayed == 0 && !gameStorage.hasSnapshot()) {
+                long start = StartupTimeline.begin();
+                context.getVaultManager().initializeData();
+                StartupTimeline.record("initialize data", start);
+            }
+            return true;
+        } catch (UncheckedIOException e) {
+            System.out.println("Error opening storage: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Each storage opens on its own thread; the snapshot is mapped meanwhile and attached once the games storage is open
+    private static GameStorage openStorages(GameVaultContext context) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService openers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "gamevault-open-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<GameStorage> games = CompletableFuture.supplyAsync(context::getGameStorage, openers);
+            // Serve the catalog from a memory-mapped snapshot when one is configured (-Dgamevault.catalogSnapshot=<file>)
+            String catalogSnapshot = System.getProperty("gamevault.catalogSnapshot");
+            CompletableFuture<GameStorage> attached = games;
+            if (catalogSnapshot != null) {
+                CompletableFuture<GameSnapshot> snapshot = CompletableFuture.supplyAsync(() -> StartupTimeline.time("open catalog snapshot", () -> {
+                    try {
+                        return GameSnapshot.open(Paths.get(catalogSnapshot));
+                    } catch (IOException e) {
+                        throw new PersistenceException("Error opening catalog snapshot: " + e.getMessage(), e);
+                    }
+                }), openers);
+                attached = games.thenCombine(snapshot, (storage, opened) -> {
+                    long start = StartupTimeline.begin();
+                    storage.attachSnapshot(opened);
+                    StartupTimeline.record("attach catalog snapshot", start);
+                    return storage;
+                });
+            }
+            CompletableFuture.allOf(attached,
+                    CompletableFuture.runAsync(context::getUserStorage, openers),
+                    CompletableFuture.runAsync(context::getCartStorage, openers),
+                    CompletableFuture.runAsync(context::getOrderStorage, openers),
+                    CompletableFuture.runAsync(context::getTransactionStorage, openers)).join();
+            return attached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PersistenceException) {
+                System.out.println(e.getCause().getMessage());
+            } else {
+                System.out.println("Error opening storage: " + e.getCause().getMessage());
+            }
+            return null;
+        } finally {
+            openers.shutdown();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+package com.project.gamevaultcli;
+
+import com.project.gamevaultcli.analytics.RevenueAnalytics;
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.management.CartManagement;
+import com.project.gamevaultcli.management.GameManagement;
+import com.project.gamevaultcli.management.GameVaultManagement;
+import com.project.gamevaultcli.management.GameVaultMenu;
+import com.project.gamevaultcli.management.OrderManagement;
+import com.project.gamevaultcli.management.TransactionManagement;
+import com.project.gamevaultcli.management.UserManagement;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.metrics.StartupTimeline;
+import com.project.gamevaultcli.storage.CachingStorage;
+import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.storage.ConcurrentStorage;
+import com.project.gamevaultcli.storage.GameStorage;
+import com.project.gamevaultcli.storage.OrderStorage;
+import com.project.gamevaultcli.storage.StorageBackends;
+import com.project.gamevaultcli.storage.TransactionStorage;
+import com.project.gamevaultcli.storage.UserStorage;
+import com.project.gamevaultcli.utils.Lazy;
+import com.project.gamevaultcli.utils.StripedLock;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The storages and managements of one Game Vault instance, wired together the same way
+ * for the CLI, the server and the load driver.
+ * <p>
+ * Each storage, management and the analytics are built on first use, so start-up only pays
+ * for what a session touches; the {@link StartupTimeline} shows when each one was built. Work
+ * such as replaying the log can run in the background with {@link #loadInBackground}, and the
+ * managements wait for it on first use.
+ * <p>
+ * Game and user lookups go through a read-through cache sized by the
+ * {@code gamevault.cache.games} and {@code gamevault.cache.users} properties (entries,
+ * 0 to disable), with an optional {@code .ttlSeconds} each. Where the storages keep their
+ * records is up to the {@link StorageBackends}; everything stays on the heap by default.
+ */
+public class GameVaultContext {
+
+    private static final long DEFAULT_CACHE_ENTRIES = 10_000;
+
+    private final Lazy<UserStorage> userStorage;
+    private final Lazy<GameStorage> gameStorage;
+    private final Lazy<CartStorage> cartStorage;
+    private final Lazy<OrderStorage> orderStorage;
+    private final Lazy<TransactionStorage> transactionStorage;
+
+    private final Lazy<UserManagement> userManagement;
+    private final Lazy<GameManagement> gameManagement;
+    private final Lazy<CartManagement> cartManagement;
+    private final Lazy<OrderManagement> orderManagement;
+    private final Lazy<TransactionManagement> transactionManagement;
+    private final Lazy<GameVaultManagement> vaultManager;
+    private final Lazy<RevenueAnalytics> analytics;
+
+    private volatile CompletableFuture<Void> loading = CompletableFuture.completedFuture(null);
+    private volatile Thread loader;
+
+    public GameVaultContext() {
+        this(StorageBackends.heap());
+    }
+
+    public GameVaultContext(StorageBackends backends) {
+        userStorage = lazy("open users storage", backends::users);
+        gameStorage = lazy("open games storage", backends::games);
+        cartStorage = lazy("open carts storage", backends::carts);
+        orderStorage = lazy("open orders storage", backends::orders);
+        transactionStorage = lazy("open transactions storage", backends::transactions);
+
+        // Cart changes and checkouts share per-user lock stripes
+        StripedLock userLocks = new StripedLock(64);
+        userManagement = lazy("user management", () -> new UserManagement(getUserStorage(), cached("users", getUserStorage(), User::getUserId)));
+        gameManagement = lazy("game management", () -> new GameManagement(getGameStorage(), cached("games", getGameStorage(), Game::getGameId)));
+        cartManagement = lazy("cart management", () -> new CartManagement(getCartStorage(), getGameStorage(), userLocks));
+        orderManagement = lazy("order management",
+                () -> new OrderManagement(getOrderStorage(), getCartStorage(), getUserStorage(), getGameStorage(), userLocks));
+        transactionManagement = lazy("transaction management", () -> new TransactionManagement(getTransactionStorage()));
+        vaultManager = lazy("vault management", () -> new GameVaultManagement(getUserManagement(), getGameManagement(), getOrderManagement(), getTransactionManagement()));
+        // Built once loading is done, so its running totals start from the loaded orders and transactions
+        analytics = lazy("revenue analytics", () -> new RevenueAnalytics(getOrderStorage(), getTransactionStorage(), getGameStorage()));
+    }
+
+    /**
+     * Runs the loader on a background thread. Until it finishes, asking for a management or the
+     * analytics waits for it, except on the loader thread itself; the storages are available
+     * right away for the loader to fill. The analytics are built at the end of it, while nothing
+     * else can write yet, because rebuilding their totals must not race with new sales.
+     * Returns the loading, which fails with whatever the loader threw; the caller decides what
+     * a failed load means for the process.
+     */
+    public CompletableFuture<Void> loadInBackground(Runnable load) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        long start = StartupTimeline.begin();
+        Thread thread = new Thread(() -> {
+            try {
+                load.run();
+                analytics.get();
+                StartupTimeline.record("load", start);
+                done.complete(null);
+            } catch (RuntimeException | Error e) {
+                done.completeExceptionally(e);
+            }
+        }, "gamevault-loader");
+        thread.setDaemon(true);
+        loader = thread;
+        loading = done;
+        thread.start();
+        return done;
+    }
+
+    /**
+     * Blocks until the background loader, if any, has finished.
+     */
+    public void awaitLoaded() {
+        if (Thread.currentThread() == loader) {
+            return;
+        }
+        try {
+            loading.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Loading failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static <T> Lazy<T> lazy(String phase, Supplier<T> factory) {
+        return new Lazy<>(() -> StartupTimeline.time(phase, factory));
+    }
+
+    // Wraps the storage in a cache that drops entries changed behind its back, unless disabled
+    private static <T> StorageInterface<T, Integer> cached(String name, ConcurrentStorage<T> storage, Function<T, Integer> idOf) {
+        long maxEntries = Long.getLong("gamevault.cache." + name, DEFAULT_CACHE_ENTRIES);
+        if (maxEntries <= 0) {
+            return storage;
+        }
+        long ttlMillis = TimeUnit.SECONDS.toMillis(Long.getLong("gamevault.cache." + name + ".ttlSeconds", 0));
+        CachingStorage<T, Integer> cache = new CachingStorage<>(storage, idOf, maxEntries, ttlMillis);
+        storage.changes().subscribe(cache.invalidator());
+        Metrics.registerCache(name, () -> cache.getStats(name));
+        return cache;
+    }
+
+    public UserStorage getUserStorage() {
+        return userStorage.get();
+    }
+
+    public GameStorage getGameStorage() {
+        return gameStorage.get();
+    }
+
+    public CartStorage getCartStorage() {
+        return cartStorage.get();
+    }
+
+    public OrderStorage getOrderStorage() {
+        return orderStorage.get();
+    }
+
+    public TransactionStorage getTransactionStorage() {
+        return transactionStorage.get();
+    }
+
+    public UserManagement getUserManagement() {
+        awaitLoaded();
+        return userManagement.get();
+    }
+
+    public GameManagement getGameManagement() {
+        awaitLoaded();
+        return gameManagement.get();
+    }
+
+    public CartManagement getCartManagement() {
+        awaitLoaded();
+        return cartManagement.get();
+    }
+
+    public OrderManagement getOrderManagement() {
+        awaitLoaded();
+        return orderManagement.get();
+    }
+
+    public TransactionManagement getTransactionManagement() {
+        awaitLoaded();
+        return transactionManagement.get();
+    }
+
+    public GameVaultManagement getVaultManager() {
+        awaitLoaded();
+        return vaultManager.get();
+    }
+
+    public RevenueAnalytics getAnalytics() {
+        awaitLoaded();
+        return analytics.get();
+    }
+
+    // A fresh menu session over this instance; it only waits for loading once a choice needs the data
+    public GameVaultMenu newMenu(InputStream in, PrintStream out) {
+        return new GameVaultMenu(this::getUserManagement, this::getGameManagement, this::getCartManagement, this::getOrderManagement,
+                this::getTransactionManagement, this::getVaultManager, this::getAnalytics, in, out);
+    }
+}
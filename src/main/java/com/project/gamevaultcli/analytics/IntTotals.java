@@ -0,0 +1,85 @@
+package com.project.gamevaultcli.analytics;
+
+/**
+ * Revenue (in cents) and units sold per int key, e.g. a game ID or an epoch day, in an
+ * open-addressing table of primitive arrays so that adding a sale never allocates.
+ */
+final class IntTotals {
+
+    interface Visitor {
+        void visit(int key, long cents, long units);
+    }
+
+    private int[] keys = new int[16];
+    private long[] cents = new long[16];
+    private long[] units = new long[16];
+    private boolean[] used = new boolean[16];
+    private int size;
+
+    void add(int key, long amountCents, long unitCount) {
+        int slot = slotOf(key);
+        if (!used[slot]) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                grow();
+                slot = slotOf(key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        cents[slot] += amountCents;
+        units[slot] += unitCount;
+    }
+
+    void addAll(IntTotals other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.used[i]) {
+                add(other.keys[i], other.cents[i], other.units[i]);
+            }
+        }
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                visitor.visit(keys[i], cents[i], units[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Linear probing from a mixed hash; the table is never more than three quarters full
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldCents = cents;
+        long[] oldUnits = units;
+        boolean[] oldUsed = used;
+        int capacity = oldKeys.length * 2;
+        keys = new int[capacity];
+        cents = new long[capacity];
+        units = new long[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                cents[slot] = oldCents[i];
+                units[slot] = oldUnits[i];
+            }
+        }
+    }
+}
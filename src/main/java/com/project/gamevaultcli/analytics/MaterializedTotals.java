@@ -0,0 +1,210 @@
+package com.project.gamevaultcli.analytics;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.OrderLineItems;
+import com.project.gamevaultcli.entities.Transaction;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Running revenue totals, overall and per game, developer, platform and day, kept up to date as
+ * orders and transactions change so that dashboard lookups are O(1).
+ * <p>
+ * A stored sale is counted, and a deleted or replaced one is taken back out using the entity the
+ * storage held before. As in the reports, revenue comes from the order line items only, and a
+ * game's revenue counts towards the developer and platform it has in the current catalog: when
+ * the catalog changes, the game's totals move with it. {@link RevenueAnalytics#rebuildTotals()}
+ * recomputes everything from the storages, e.g. after replaying the write-ahead log.
+ */
+public class MaterializedTotals {
+
+    static final String UNKNOWN = "(unknown)";
+
+    private final IntFunction<Game> catalog;
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder units = new LongAdder();
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final Map<Integer, Total> byGame = new ConcurrentHashMap<>();
+    private final Map<String, Total> byDeveloper = new ConcurrentHashMap<>();
+    private final Map<String, Total> byPlatform = new ConcurrentHashMap<>();
+    private final Map<Integer, Total> byDay = new ConcurrentHashMap<>();
+    private final Map<Integer, Attribution> attributions = new ConcurrentHashMap<>(); // gameId -> where its totals are counted
+
+    MaterializedTotals(IntFunction<Game> catalog) {
+        this.catalog = catalog;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    public long getUnitsSold() {
+        return units.sum();
+    }
+
+    public long getOrderCount() {
+        return orders.sum();
+    }
+
+    public long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    public long getRevenueCentsForGame(int gameId) {
+        return centsOf(byGame.get(gameId));
+    }
+
+    public long getRevenueCentsForDeveloper(String developer) {
+        return centsOf(byDeveloper.get(developer));
+    }
+
+    public long getRevenueCentsForPlatform(String platform) {
+        return centsOf(byPlatform.get(platform));
+    }
+
+    public long getRevenueCentsForDay(LocalDate day) {
+        return centsOf(byDay.get((int) day.toEpochDay()));
+    }
+
+    public long getRevenueCentsToday() {
+        return getRevenueCentsForDay(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Revenue per platform, highest first.
+     */
+    public List<RevenueRow> platformRows() {
+        List<RevenueRow> rows = new ArrayList<>(byPlatform.size());
+        byPlatform.forEach((platform, total) -> rows.add(new RevenueRow(platform, total.units.sum(), total.cents.sum())));
+        rows.sort(Comparator.comparingLong(RevenueRow::getRevenueCents).reversed());
+        return rows;
+    }
+
+    // Counts the order with sign 1 or takes it back out with -1; null is a no-op
+    void applyOrder(Order order, int sign) {
+        if (order == null) {
+            return;
+        }
+        orders.add(sign);
+        int day = SalesTotals.dayOf(order.getOrderDate());
+        OrderLineItems items = order.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            recordSale(items.getGameId(i), sign * items.getPriceCents(i), sign, day);
+        }
+    }
+
+    // A transaction is the payment for an order, so it is counted but adds no revenue
+    void applyTransaction(Transaction transaction, int sign) {
+        if (transaction != null) {
+            transactions.add(sign);
+        }
+    }
+
+    // Follows a catalog change: a game with sales moves its totals to its new developer and platform
+    void applyGame(int gameId, Game game) {
+        attributions.computeIfPresent(gameId, (id, attribution) -> {
+            synchronized (attribution) {
+                Total total = byGame.get(gameId);
+                long cents = centsOf(total);
+                long count = total == null ? 0 : total.units.sum();
+                String developer = developerOf(game);
+                if (!developer.equals(attribution.developer)) {
+                    addTo(byDeveloper, attribution.developer, -cents, -count);
+                    addTo(byDeveloper, developer, cents, count);
+                    attribution.developer = developer;
+                }
+                String platform = platformOf(game);
+                if (!platform.equals(attribution.platform)) {
+                    addTo(byPlatform, attribution.platform, -cents, -count);
+                    addTo(byPlatform, platform, cents, count);
+                    attribution.platform = platform;
+                }
+            }
+            return attribution;
+        });
+    }
+
+    // Replaces every total with the result of a full aggregation
+    void rebuild(SalesTotals totals) {
+        revenueCents.reset();
+        units.reset();
+        orders.reset();
+        transactions.reset();
+        byGame.clear();
+        byDeveloper.clear();
+        byPlatform.clear();
+        byDay.clear();
+        attributions.clear();
+        revenueCents.add(totals.revenueCents);
+        orders.add(totals.orders);
+        transactions.add(totals.transactions);
+        totals.byGame.forEach((gameId, cents, count) -> {
+            units.add(count);
+            addToGame(gameId, cents, count);
+        });
+        totals.byDay.forEach((day, cents, count) -> addTo(byDay, day, cents, count));
+    }
+
+    private void recordSale(int gameId, long cents, long count, int day) {
+        revenueCents.add(cents);
+        units.add(count);
+        addToGame(gameId, cents, count);
+        addTo(byDay, day, cents, count);
+    }
+
+    // Counts towards the game and towards the developer and platform it is attributed to
+    private void addToGame(int gameId, long cents, long count) {
+        Attribution attribution = attributions.computeIfAbsent(gameId, id -> {
+            Game game = id == SalesTotals.UNKNOWN ? null : catalog.apply(id);
+            return new Attribution(developerOf(game), platformOf(game));
+        });
+        synchronized (attribution) {
+            addTo(byGame, gameId, cents, count);
+            addTo(byDeveloper, attribution.developer, cents, count);
+            addTo(byPlatform, attribution.platform, cents, count);
+        }
+    }
+
+    static String developerOf(Game game) {
+        return game == null || game.getDeveloper() == null ? UNKNOWN : game.getDeveloper();
+    }
+
+    static String platformOf(Game game) {
+        return game == null || game.getPlatform() == null ? UNKNOWN : game.getPlatform();
+    }
+
+    private static <K> void addTo(Map<K, Total> totals, K key, long cents, long count) {
+        Total total = totals.computeIfAbsent(key, k -> new Total());
+        total.cents.add(cents);
+        total.units.add(count);
+    }
+
+    private static long centsOf(Total total) {
+        return total == null ? 0 : total.cents.sum();
+    }
+
+    private static final class Attribution {
+        private String developer;
+        private String platform;
+
+        private Attribution(String developer, String platform) {
+            this.developer = developer;
+            this.platform = platform;
+        }
+    }
+
+    private static final class Total {
+        private final LongAdder cents = new LongAdder();
+        private final LongAdder units = new LongAdder();
+    }
+}
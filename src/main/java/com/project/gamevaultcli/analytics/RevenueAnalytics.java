@@ -0,0 +1,204 @@
+package com.project.gamevaultcli.analytics;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.storage.GameStorage;
+import com.project.gamevaultcli.storage.OrderStorage;
+import com.project.gamevaultcli.storage.TransactionStorage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Revenue and sales reports over the orders and the transaction ledger.
+ * <p>
+ * Every report is a fresh group-by: orders and ledger rows are cut into ranges that are
+ * summed per game and per day in parallel on a fork-join pool, and the partial sums are
+ * merged. Revenue is what the orders' line items sold for; ledger transactions are the
+ * payments for those orders, so they are counted but not added to it again. Developer and
+ * platform totals are rolled up from the per-game sums using the current catalog. For dashboards, {@link #getTotals()} keeps running totals that follow the
+ * order and transaction change feeds on their own threads, off the checkout path.
+ */
+public class RevenueAnalytics {
+
+    private static final int ORDER_SPLIT = 4096;
+
+    private final OrderStorage orderStorage;
+    private final TransactionStorage transactionStorage;
+    private final GameStorage gameStorage;
+    private final ForkJoinPool pool;
+    private final MaterializedTotals totals;
+
+    public RevenueAnalytics(OrderStorage orderStorage, TransactionStorage transactionStorage, GameStorage gameStorage) {
+        this(orderStorage, transactionStorage, gameStorage, ForkJoinPool.commonPool());
+    }
+
+    public RevenueAnalytics(OrderStorage orderStorage, TransactionStorage transactionStorage, GameStorage gameStorage, ForkJoinPool pool) {
+        this.orderStorage = orderStorage;
+        this.transactionStorage = transactionStorage;
+        this.gameStorage = gameStorage;
+        this.pool = pool;
+        this.totals = new MaterializedTotals(gameStorage::findById);
+
+        // Both storages hand out copies, so the before image is what was stored, even after a change in place
+        orderStorage.changes().subscribeAsync("order-totals", event -> {
+            totals.applyOrder(event.getBefore(), -1);
+            totals.applyOrder(event.getAfter(), 1);
+        });
+        transactionStorage.changes().subscribeAsync("transaction-totals", event -> {
+            totals.applyTransaction(event.getBefore(), -1);
+            totals.applyTransaction(event.getAfter(), 1);
+        });
+        // Developer and platform totals follow the catalog, as they do in the reports
+        gameStorage.changes().subscribeAsync("catalog-totals", event -> totals.applyGame(event.getId(), event.getAfter()));
+        rebuildTotals();
+    }
+
+    /**
+     * The running totals, once every order and transaction stored so far is counted in them.
+     */
+    public MaterializedTotals getTotals() {
+        awaitFeeds();
+        return totals;
+    }
+
+    /**
+     * Recomputes the running totals from the storages. Sales stored while this runs may be
+     * missed, so call it when nothing else is writing, e.g. at startup.
+     */
+    public void rebuildTotals() {
+        awaitFeeds();
+        totals.rebuild(aggregate());
+    }
+
+    private void awaitFeeds() {
+        orderStorage.changes().awaitDelivered();
+        transactionStorage.changes().awaitDelivered();
+        gameStorage.changes().awaitDelivered();
+    }
+
+    /**
+     * Revenue per game, highest first.
+     */
+    public List<RevenueRow> revenueByGame() {
+        return sortedByRevenue(rollUp(aggregate().byGame, this::gameName));
+    }
+
+    /**
+     * The k games with the highest revenue, highest first.
+     */
+    public List<RevenueRow> topGames(int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        // Keep a min-heap of the best k seen so far instead of sorting every game
+        PriorityQueue<long[]> best = new PriorityQueue<>(k + 1, Comparator.comparingLong(entry -> entry[1]));
+        aggregate().byGame.forEach((gameId, cents, units) -> {
+            best.add(new long[]{gameId, cents, units});
+            if (best.size() > k) {
+                best.poll();
+            }
+        });
+        List<RevenueRow> rows = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            long[] entry = best.poll();
+            rows.add(new RevenueRow(gameName((int) entry[0]), entry[2], entry[1]));
+        }
+        rows.sort(Comparator.comparingLong(RevenueRow::getRevenueCents).reversed());
+        return rows;
+    }
+
+    /**
+     * Revenue per developer, highest first.
+     */
+    public List<RevenueRow> revenueByDeveloper() {
+        return sortedByRevenue(rollUp(aggregate().byGame, gameId -> MaterializedTotals.developerOf(gameStorage.findById(gameId))));
+    }
+
+    /**
+     * Revenue per platform, highest first.
+     */
+    public List<RevenueRow> revenueByPlatform() {
+        return sortedByRevenue(rollUp(aggregate().byGame, gameId -> MaterializedTotals.platformOf(gameStorage.findById(gameId))));
+    }
+
+    /**
+     * Revenue per day (UTC), oldest first.
+     */
+    public List<RevenueRow> revenueByDay() {
+        List<RevenueRow> rows = rollUp(aggregate().byDay,
+                day -> day == SalesTotals.UNKNOWN ? MaterializedTotals.UNKNOWN : LocalDate.ofEpochDay(day).toString());
+        rows.sort(Comparator.comparing(RevenueRow::getName));
+        return rows;
+    }
+
+    // One parallel pass over the orders and the ledger, running side by side on the pool
+    SalesTotals aggregate() {
+        List<Order> orders = orderStorage.findAll();
+        ForkJoinTask<SalesTotals> orderTotals = pool.submit(new OrderTask(orders, 0, orders.size()));
+        SalesTotals ledgerTotals = transactionStorage.parallelScan(pool, SalesTotals::new, SalesTotals::merge);
+        return ledgerTotals.merge(orderTotals.join());
+    }
+
+    private String gameName(int gameId) {
+        Game game = gameId == SalesTotals.UNKNOWN ? null : gameStorage.findById(gameId);
+        return game == null ? "#" + gameId : "#" + gameId + " " + game.getTitle();
+    }
+
+    // Groups the per-key totals under a label, e.g. every game of one developer
+    private static List<RevenueRow> rollUp(IntTotals totals, IntFunction<String> label) {
+        Map<String, long[]> groups = new HashMap<>();
+        totals.forEach((key, cents, units) -> {
+            long[] group = groups.computeIfAbsent(label.apply(key), name -> new long[2]);
+            group[0] += cents;
+            group[1] += units;
+        });
+        List<RevenueRow> rows = new ArrayList<>(groups.size());
+        groups.forEach((name, group) -> rows.add(new RevenueRow(name, group[1], group[0])));
+        return rows;
+    }
+
+    private static List<RevenueRow> sortedByRevenue(List<RevenueRow> rows) {
+        rows.sort(Comparator.comparingLong(RevenueRow::getRevenueCents).reversed().thenComparing(RevenueRow::getName));
+        return rows;
+    }
+
+    private static final class OrderTask extends RecursiveTask<SalesTotals> {
+        private static final long serialVersionUID = 1L;
+        private final List<Order> orders;
+        private final int from;
+        private final int to;
+
+        private OrderTask(List<Order> orders, int from, int to) {
+            this.orders = orders;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SalesTotals compute() {
+            if (to - from <= ORDER_SPLIT) {
+                SalesTotals totals = new SalesTotals();
+                for (int i = from; i < to; i++) {
+                    totals.addOrder(orders.get(i));
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            OrderTask left = new OrderTask(orders, from, middle);
+            left.fork();
+            SalesTotals right = new OrderTask(orders, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.gamevaultcli.analytics;
+
+import java.util.Locale;
+
+/**
+ * One line of a revenue report (a game, developer, platform or day), laid out for printTable.
+ */
+public class RevenueRow {
+
+    private final String name;
+    private final long sales;
+    private final String revenue;
+    private final long revenueCents;
+
+    RevenueRow(String name, long sales, long revenueCents) {
+        this.name = name;
+        this.sales = sales;
+        this.revenue = String.format(Locale.ROOT, "%.2f", revenueCents / 100.0);
+        this.revenueCents = revenueCents;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSales() {
+        return sales;
+    }
+
+    public String getRevenue() {
+        return revenue;
+    }
+
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+}
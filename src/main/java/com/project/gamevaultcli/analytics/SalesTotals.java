@@ -0,0 +1,64 @@
+package com.project.gamevaultcli.analytics;
+
+import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.OrderLineItems;
+import com.project.gamevaultcli.storage.TransactionLedger;
+
+import java.util.Date;
+
+/**
+ * Partial result of one aggregation task: revenue and units per game and per day, plus grand
+ * totals. Orders are the record of what was sold, so only their line items count as sales;
+ * ledger transactions are the payments that go with them and are only counted.
+ */
+final class SalesTotals implements TransactionLedger.RowVisitor {
+
+    static final int UNKNOWN = TransactionLedger.NULL_INT;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    final IntTotals byGame = new IntTotals();
+    final IntTotals byDay = new IntTotals(); // keyed by UTC epoch day
+    long revenueCents;
+    long units;
+    long orders;
+    long transactions;
+
+    void addOrder(Order order) {
+        orders++;
+        int day = dayOf(order.getOrderDate());
+        OrderLineItems items = order.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            addSale(items.getGameId(i), items.getPriceCents(i), day);
+        }
+    }
+
+    @Override
+    public void visit(int transactionId, int userId, int gameId, long amountCents, long epochMillis, int typeCode) {
+        transactions++;
+    }
+
+    SalesTotals merge(SalesTotals other) {
+        byGame.addAll(other.byGame);
+        byDay.addAll(other.byDay);
+        revenueCents += other.revenueCents;
+        units += other.units;
+        orders += other.orders;
+        transactions += other.transactions;
+        return this;
+    }
+
+    private void addSale(int gameId, long cents, int day) {
+        byGame.add(gameId, cents, 1);
+        byDay.add(day, cents, 1);
+        revenueCents += cents;
+        units++;
+    }
+
+    static int dayOf(Date date) {
+        return date == null ? UNKNOWN : dayOf(date.getTime());
+    }
+
+    static int dayOf(long epochMillis) {
+        return (int) Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+    }
+}
@@ -0,0 +1,218 @@
+package com.project.gamevaultcli.batch;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.exceptions.BatchSyntaxException;
+import com.project.gamevaultcli.management.CartManagement;
+import com.project.gamevaultcli.management.GameManagement;
+import com.project.gamevaultcli.management.OrderManagement;
+import com.project.gamevaultcli.management.TransactionManagement;
+import com.project.gamevaultcli.management.UserManagement;
+import com.project.gamevaultcli.utils.Util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Runs a script of one command per line straight against the managements, without the menu.
+ * <p>
+ * Commands:
+ * <pre>
+ * add-user &lt;email&gt; &lt;password&gt; &lt;username&gt; &lt;walletBalance&gt;
+ * add-game &lt;title&gt; &lt;developer&gt; &lt;platform&gt; &lt;price&gt; [description...]
+ * delete-game &lt;gameId&gt;
+ * add-to-cart &lt;userId&gt; &lt;gameId&gt;
+ * remove-from-cart &lt;userId&gt; &lt;gameId&gt;
+ * place-order &lt;userId&gt;
+ * add-transaction &lt;userId&gt; &lt;gameId&gt; &lt;type&gt; &lt;amount&gt;
+ * list-games | list-users
+ * orders &lt;userId&gt; | transactions &lt;userId&gt;
+ * search &lt;query...&gt;
+ * </pre>
+ * Values containing spaces are double-quoted. Results go to the output stream unless the runner
+ * is quiet; a failing command is reported with its line number and the script carries on.
+ */
+public class BatchRunner {
+
+    private static final String[] COMMANDS = {
+        "add-user", "add-game", "delete-game", "add-to-cart", "remove-from-cart", "place-order",
+        "add-transaction", "list-games", "list-users", "orders", "transactions", "search"
+    };
+    private static final int SEARCH_LIMIT = 20;
+
+    private final UserManagement userManagement;
+    private final GameManagement gameManagement;
+    private final CartManagement cartManagement;
+    private final OrderManagement orderManagement;
+    private final TransactionManagement transactionManagement;
+    private final PrintStream out;
+    private final PrintStream err;
+    private final boolean quiet;
+
+    private long commandCount;
+    private long failureCount;
+
+    public BatchRunner(UserManagement userManagement, GameManagement gameManagement, CartManagement cartManagement, OrderManagement orderManagement, TransactionManagement transactionManagement, PrintStream out, PrintStream err, boolean quiet) {
+        this.userManagement = userManagement;
+        this.gameManagement = gameManagement;
+        this.cartManagement = cartManagement;
+        this.orderManagement = orderManagement;
+        this.transactionManagement = transactionManagement;
+        this.out = out;
+        this.err = err;
+        this.quiet = quiet;
+    }
+
+    public void run(Reader script) throws IOException {
+        CommandTokenizer tokenizer = new CommandTokenizer(script);
+        while (tokenizer.nextCommandLine()) {
+            commandCount++;
+            try {
+                execute(tokenizer);
+            } catch (Exception e) {
+                failureCount++;
+                err.println("Line " + tokenizer.getLineNumber() + ": " + e.getMessage() + " [" + tokenizer.currentLine() + "]");
+            }
+        }
+        out.flush();
+    }
+
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    private void execute(CommandTokenizer tokenizer) throws Exception {
+        int command = tokenizer.nextKeyword(COMMANDS);
+        switch (command) {
+            case 0: {
+                String email = tokenizer.nextString();
+                String password = tokenizer.nextString();
+                String username = tokenizer.nextString();
+                float walletBalance = tokenizer.nextFloat();
+                tokenizer.expectEnd();
+                User user = new User(email, password, username, walletBalance);
+                userManagement.addUser(user);
+                if (!quiet) {
+                    out.println("User created: " + user.getUsername() + " with ID: " + user.getUserId());
+                }
+                break;
+            }
+            case 1: {
+                String title = tokenizer.nextString();
+                String developer = tokenizer.nextString();
+                String platform = tokenizer.nextString();
+                float price = tokenizer.nextFloat();
+                String description = tokenizer.remainder();
+                Game game = new Game(title, description, developer, platform, price, new Date());
+                gameManagement.addGame(game);
+                if (!quiet) {
+                    out.println("Game created: " + game.getTitle() + " with ID: " + game.getGameId());
+                }
+                break;
+            }
+            case 2: {
+                int gameId = tokenizer.nextInt();
+                tokenizer.expectEnd();
+                gameManagement.getGame(gameId);
+                gameManagement.deleteGame(gameId);
+                if (!quiet) {
+                    out.println("Game deleted: " + gameId);
+                }
+                break;
+            }
+            case 3:
+            case 4: {
+                int userId = tokenizer.nextInt();
+                int gameId = tokenizer.nextInt();
+                tokenizer.expectEnd();
+                userManagement.getUser(userId);
+                Game game = gameManagement.getGame(gameId);
+                if (command == 3) {
+                    boolean added = cartManagement.addGameToCart(userId, game);
+                    if (!quiet) {
+                        out.println(added ? "Added " + game.getTitle() + " to cart for user " + userId
+                                : game.getTitle() + " is already in the cart of user " + userId);
+                    }
+                } else {
+                    boolean removed = cartManagement.removeGameFromCart(userId, game);
+                    if (!quiet) {
+                        out.println(removed ? "Removed " + game.getTitle() + " from cart for user " + userId
+                                : game.getTitle() + " is not in the cart of user " + userId);
+                    }
+                }
+                break;
+            }
+            case 5: {
+                int userId = tokenizer.nextInt();
+                tokenizer.expectEnd();
+                orderManagement.placeOrder(userId);
+                if (!quiet) {
+                    out.println("Order placed for user " + userId);
+                }
+                break;
+            }
+            case 6: {
+                int userId = tokenizer.nextInt();
+                int gameId = tokenizer.nextInt();
+                String transactionType = tokenizer.nextString();
+                float amount = tokenizer.nextFloat();
+                tokenizer.expectEnd();
+                transactionManagement.addTransaction(new Transaction(null, userId, gameId, transactionType, amount, LocalDateTime.now()));
+                if (!quiet) {
+                    out.println("Transaction created");
+                }
+                break;
+            }
+            case 7:
+                tokenizer.expectEnd();
+                if (!quiet) {
+                    Util.printTable(gameManagement.streamGames(), Arrays.asList("gameId", "title", "developer", "platform", "price", "description"), out);
+                }
+                break;
+            case 8:
+                tokenizer.expectEnd();
+                if (!quiet) {
+                    Util.printTable(userManagement.getAllUsers(), Arrays.asList("userId", "username", "email", "walletBalance"), out);
+                }
+                break;
+            case 9: {
+                int userId = tokenizer.nextInt();
+                tokenizer.expectEnd();
+                List<Order> orders = orderManagement.getOrdersForUser(userId);
+                if (!quiet) {
+                    Util.printTable(orders, Arrays.asList("orderId", "userId", "totalAmount", "orderDate"), out);
+                }
+                break;
+            }
+            case 10: {
+                int userId = tokenizer.nextInt();
+                tokenizer.expectEnd();
+                List<Transaction> transactions = transactionManagement.getTransactionsForUser(userId);
+                if (!quiet) {
+                    Util.printTable(transactions, Arrays.asList("transactionId", "userId", "gameId", "transactionType", "amount", "transactionDate"), out);
+                }
+                break;
+            }
+            case 11: {
+                List<Game> games = gameManagement.search(tokenizer.remainder(), SEARCH_LIMIT);
+                if (!quiet) {
+                    Util.printTable(games, Arrays.asList("gameId", "title", "developer", "platform", "price", "description"), out);
+                }
+                break;
+            }
+            default:
+                throw new BatchSyntaxException("Unknown command");
+        }
+    }
+}
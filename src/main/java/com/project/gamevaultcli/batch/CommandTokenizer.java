@@ -0,0 +1,285 @@
+package com.project.gamevaultcli.batch;
+
+import com.project.gamevaultcli.exceptions.BatchSyntaxException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Line-oriented tokenizer for batch scripts.
+ * <p>
+ * Input is read in large chunks into one reusable char buffer, and tokens are parsed in
+ * place: numbers are converted straight from the buffer and keywords are compared against
+ * it, so only string arguments allocate. Tokens are separated by spaces or tabs; a token
+ * starting with a double quote runs to the closing quote, with {@code \"} and {@code \\}
+ * as escapes. Lines that are blank or start with {@code #} are skipped.
+ */
+public class CommandTokenizer {
+
+    private final Reader reader;
+    private char[] buffer = new char[1 << 16];
+    private int limit;
+    private int scanFrom;
+    private boolean endOfInput;
+
+    private int lineStart;
+    private int lineEnd;
+    private int nextLineStart;
+    private int position;
+    private int lineNumber;
+
+    public CommandTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Moves to the next line that holds a command.
+     *
+     * @return false at the end of the input
+     */
+    public boolean nextCommandLine() throws IOException {
+        while (nextLine()) {
+            skipSpaces();
+            if (position < lineEnd && buffer[position] != '#') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public boolean hasMoreTokens() {
+        skipSpaces();
+        return position < lineEnd;
+    }
+
+    /**
+     * Consumes the next token if it equals one of the keywords and returns that keyword's index, otherwise -1.
+     */
+    public int nextKeyword(String[] keywords) {
+        skipSpaces();
+        int end = tokenEnd();
+        for (int i = 0; i < keywords.length; i++) {
+            String keyword = keywords[i];
+            if (keyword.length() == end - position && regionMatches(keyword)) {
+                position = end;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int nextInt() {
+        skipSpaces();
+        int end = tokenEnd();
+        int i = position;
+        boolean negative = i < end && buffer[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end) {
+            throw syntaxError("a number");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = buffer[i];
+            if (c < '0' || c > '9') {
+                throw syntaxError("a whole number");
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw syntaxError("a number in int range");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw syntaxError("a number in int range");
+        }
+        position = end;
+        return (int) value;
+    }
+
+    public float nextFloat() {
+        skipSpaces();
+        int end = tokenEnd();
+        int i = position;
+        boolean negative = i < end && buffer[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            char c = buffer[i];
+            if (c == '.' && scale < 0) {
+                scale = 0;
+            } else if (c >= '0' && c <= '9' && digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                break;
+            }
+        }
+        float value;
+        if (i == end && digits > 0) {
+            value = (float) (scale > 0 ? mantissa / Math.pow(10, scale) : mantissa);
+            value = negative ? -value : value;
+        } else {
+            // Exponents and very long numbers are rare enough to go through the JDK parser
+            try {
+                value = Float.parseFloat(new String(buffer, position, end - position));
+            } catch (NumberFormatException e) {
+                throw syntaxError("a number");
+            }
+        }
+        position = end;
+        return value;
+    }
+
+    public String nextString() {
+        skipSpaces();
+        if (position == lineEnd) {
+            throw syntaxError("a value");
+        }
+        if (buffer[position] != '"') {
+            int end = tokenEnd();
+            String value = new String(buffer, position, end - position);
+            position = end;
+            return value;
+        }
+        StringBuilder escaped = null;
+        int start = ++position;
+        for (int i = start; i < lineEnd; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                String value = escaped == null
+                        ? new String(buffer, start, i - start)
+                        : escaped.append(buffer, start, i - start).toString();
+                position = i + 1;
+                return value;
+            }
+            if (c == '\\' && i + 1 < lineEnd) {
+                if (escaped == null) {
+                    escaped = new StringBuilder();
+                }
+                escaped.append(buffer, start, i - start);
+                start = ++i; // Keep the escaped character
+            }
+        }
+        throw syntaxError("a closing quote");
+    }
+
+    /**
+     * The rest of the line with surrounding spaces trimmed.
+     */
+    public String remainder() {
+        skipSpaces();
+        int end = lineEnd;
+        while (end > position && isSpace(buffer[end - 1])) {
+            end--;
+        }
+        String value = new String(buffer, position, end - position);
+        position = lineEnd;
+        return value;
+    }
+
+    public void expectEnd() {
+        if (hasMoreTokens()) {
+            throw syntaxError("the end of the line");
+        }
+    }
+
+    /**
+     * The current line, for error messages.
+     */
+    public String currentLine() {
+        return new String(buffer, lineStart, lineEnd - lineStart);
+    }
+
+    private boolean nextLine() throws IOException {
+        while (true) {
+            for (int i = scanFrom; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    startLine(nextLineStart, i > nextLineStart && buffer[i - 1] == '\r' ? i - 1 : i, i + 1);
+                    return true;
+                }
+            }
+            scanFrom = limit;
+            if (endOfInput) {
+                if (nextLineStart < limit) {
+                    startLine(nextLineStart, limit, limit);
+                    return true;
+                }
+                return false;
+            }
+            fill();
+        }
+    }
+
+    private void startLine(int start, int end, int next) {
+        lineStart = start;
+        lineEnd = end;
+        position = start;
+        nextLineStart = next;
+        scanFrom = next;
+        lineNumber++;
+    }
+
+    // Drops consumed lines from the buffer, growing it when one line fills it, and reads more input
+    private void fill() throws IOException {
+        int pending = limit - nextLineStart;
+        if (nextLineStart > 0) {
+            System.arraycopy(buffer, nextLineStart, buffer, 0, pending);
+        } else if (pending == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        scanFrom -= nextLineStart;
+        nextLineStart = 0;
+        limit = pending;
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private void skipSpaces() {
+        while (position < lineEnd && isSpace(buffer[position])) {
+            position++;
+        }
+    }
+
+    private int tokenEnd() {
+        int end = position;
+        while (end < lineEnd && !isSpace(buffer[end])) {
+            end++;
+        }
+        return end;
+    }
+
+    private boolean regionMatches(String keyword) {
+        for (int i = 0; i < keyword.length(); i++) {
+            if (buffer[position + i] != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private BatchSyntaxException syntaxError(String expected) {
+        return new BatchSyntaxException("Expected " + expected + " at column " + (position - lineStart + 1));
+    }
+}
@@ -1,32 +1,72 @@
 package com.project.gamevaultcli.entities;
 
-import java.util.ArrayList;
+import com.project.gamevaultcli.utils.IntIntHashMap;
+
 import java.util.List;
 
+/**
+ * The games a user is about to buy, as a set of game IDs with the price in cents each had
+ * when it was added. Adding, removing and membership checks are O(1), a game is in the cart
+ * at most once, and the total is kept up to date so checkout never has to add prices up.
+ */
 public class Cart {
     private int userId;
-    private List<Game> games;
+    private final IntIntHashMap priceCentsByGameId = new IntIntHashMap();
+    private long totalCents;
 
     public Cart(int userId) {
         this.userId = userId;
-        this.games = new ArrayList<>();
     }
 
     public Cart(int userId, List<Game> games) {
         this.userId = userId;
-        this.games = games;
+        for (Game game : games) {
+            addGame(game);
+        }
     }
 
     public Cart() {}
 
-    public void addGame(Game game) {
-        games.add(game);
+    // Returns false when the game is already in the cart
+    public boolean addGame(Game game) {
+        return addGame(game.getGameId(), (int) Math.round(game.getPrice() * 100.0));
+    }
+
+    public boolean addGame(int gameId, int priceCents) {
+        if (!priceCentsByGameId.putIfAbsent(gameId, priceCents)) {
+            return false;
+        }
+        totalCents += priceCents;
+        return true;
+    }
+
+    // Returns false when the game was not in the cart
+    public boolean removeGame(Game game) {
+        return removeGame(game.getGameId());
+    }
+
+    public boolean removeGame(int gameId) {
+        int priceCents = priceCentsByGameId.remove(gameId, Integer.MIN_VALUE);
+        if (priceCents == Integer.MIN_VALUE) {
+            return false;
+        }
+        totalCents -= priceCents;
+        return true;
+    }
+
+    public boolean containsGame(int gameId) {
+        return priceCentsByGameId.containsKey(gameId);
     }
 
-    public void removeGame(Game game) {
-        games.remove(game);
+    public void clear() {
+        priceCentsByGameId.clear();
+        totalCents = 0;
     }
 
     public int getUserId() { return userId; }
-    public List<Game> getGames() { return games; }
-}
\ No newline at end of file
+    public int getGameCount() { return priceCentsByGameId.size(); }
+    public boolean isEmpty() { return priceCentsByGameId.isEmpty(); }
+    public long getTotalCents() { return totalCents; }
+    public int[] getGameIds() { return priceCentsByGameId.keys(); }
+    public int getPriceCents(int gameId) { return priceCentsByGameId.get(gameId, 0); }
+}
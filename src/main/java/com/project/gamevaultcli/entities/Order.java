@@ -1,26 +1,25 @@
 package com.project.gamevaultcli.entities;
 
 import java.util.Date;
-import java.util.List;
 
 public class Order {
     private int orderId;
     private int userId;
-    private List<Game> games;
+    private OrderLineItems items;
     private double totalAmount;
     private Date orderDate;
 
-    public Order(int userId, List<Game> games, double totalAmount) {
+    public Order(int userId, OrderLineItems items, double totalAmount) {
         this.userId = userId;
-        this.games = games;
+        this.items = items;
         this.totalAmount = totalAmount;
         this.orderDate = new Date();
     }
 
-    public Order(int orderId, int userId, List<Game> games, double totalAmount, Date orderDate) {
+    public Order(int orderId, int userId, OrderLineItems items, double totalAmount, Date orderDate) {
         this.orderId = orderId;
         this.userId = userId;
-        this.games = games;
+        this.items = items;
         this.totalAmount = totalAmount;
         this.orderDate = orderDate;
     }
@@ -43,12 +42,12 @@ public class Order {
         this.userId = userId;
     }
 
-    public List<Game> getGames() {
-        return games;
+    public OrderLineItems getItems() {
+        return items;
     }
 
-    public void setGames(List<Game> games) {
-        this.games = games;
+    public void setItems(OrderLineItems items) {
+        this.items = items;
     }
 
     public double getTotalAmount() {
@@ -0,0 +1,72 @@
+package com.project.gamevaultcli.entities;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The games bought with one order, as they were at checkout: game ID, price in cents and
+ * title, packed into parallel arrays. Immutable, and holds no reference to catalog games.
+ */
+public final class OrderLineItems {
+
+    public static final OrderLineItems EMPTY = new OrderLineItems(new int[0], new int[0], new String[0]);
+
+    private final int[] gameIds;
+    private final int[] priceCents;
+    private final String[] titles;
+
+    private OrderLineItems(int[] gameIds, int[] priceCents, String[] titles) {
+        this.gameIds = gameIds;
+        this.priceCents = priceCents;
+        this.titles = titles;
+    }
+
+    public static OrderLineItems of(List<Game> games) {
+        int[] gameIds = new int[games.size()];
+        int[] priceCents = new int[games.size()];
+        String[] titles = new String[games.size()];
+        for (int i = 0; i < gameIds.length; i++) {
+            Game game = games.get(i);
+            gameIds[i] = game.getGameId();
+            priceCents[i] = (int) Math.round(game.getPrice() * 100.0);
+            titles[i] = game.getTitle();
+        }
+        return new OrderLineItems(gameIds, priceCents, titles);
+    }
+
+    public static OrderLineItems of(int[] gameIds, int[] priceCents, String[] titles) {
+        if (gameIds.length != priceCents.length || gameIds.length != titles.length) {
+            throw new IllegalArgumentException("Line item arrays differ in length");
+        }
+        return new OrderLineItems(gameIds.clone(), priceCents.clone(), titles.clone());
+    }
+
+    public int size() {
+        return gameIds.length;
+    }
+
+    public int getGameId(int index) {
+        return gameIds[index];
+    }
+
+    public int getPriceCents(int index) {
+        return priceCents[index];
+    }
+
+    public String getTitle(int index) {
+        return titles[index];
+    }
+
+    public long getTotalCents() {
+        long total = 0;
+        for (int cents : priceCents) {
+            total += cents;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderLineItems" + Arrays.toString(titles);
+    }
+}
@@ -0,0 +1,274 @@
+package com.project.gamevaultcli.events;
+
+import com.project.gamevaultcli.interfaces.ChangeSubscriber;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ordered feed of the changes made to one storage.
+ * <p>
+ * Synchronous subscribers run on the thread that made the change, before the storage call
+ * returns, and see a per-thread event that is reused for every change. Asynchronous subscribers
+ * each get a thread of their own that reads a ring of pre-allocated events in sequence order,
+ * handing over whatever has been published since its last batch. A publisher that laps the
+ * slowest of them waits for it, so the ring never drops or grows. Publishing allocates nothing
+ * either way, and the last subscriber to be handed a ring event lets go of its entities.
+ */
+public class ChangeBus<T> {
+
+    public static final int DEFAULT_RING_SIZE = 4096;
+
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int ringSize;
+    private final ThreadLocal<ChangeEvent<T>> scratch = ThreadLocal.withInitial(ChangeEvent::new);
+    @SuppressWarnings("unchecked")
+    private volatile ChangeSubscriber<T>[] subscribers = (ChangeSubscriber<T>[]) new ChangeSubscriber<?>[0];
+    private volatile Ring<T> ring; // Created by the first asynchronous subscription
+
+    public ChangeBus() {
+        this(DEFAULT_RING_SIZE);
+    }
+
+    public ChangeBus(int ringSize) {
+        this.ringSize = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+    }
+
+    public synchronized void subscribe(ChangeSubscriber<T> subscriber) {
+        ChangeSubscriber<T>[] grown = Arrays.copyOf(subscribers, subscribers.length + 1);
+        grown[subscribers.length] = subscriber;
+        subscribers = grown;
+    }
+
+    /**
+     * Delivers the changes published from now on to the subscriber in batches, on a daemon
+     * thread named after it.
+     */
+    public synchronized void subscribeAsync(String name, ChangeSubscriber<T> subscriber) {
+        if (ring == null) {
+            ring = new Ring<>(ringSize);
+        }
+        ring.add(new Consumer<>(ring, subscriber, name));
+    }
+
+    public void publish(ChangeType type, int id, T before, T after) {
+        ChangeSubscriber<T>[] current = subscribers;
+        if (current.length > 0) {
+            deliver(current, type, id, before, after);
+        }
+        Ring<T> target = ring;
+        if (target != null) {
+            target.publish(type, id, before, after);
+        }
+    }
+
+    /**
+     * Blocks until the asynchronous subscribers have been handed every change published so far.
+     */
+    public void awaitDelivered() {
+        Ring<T> target = ring;
+        if (target == null) {
+            return;
+        }
+        long published = target.cursor.get() - 1;
+        for (Consumer<T> consumer : target.consumers) {
+            if (consumer.thread == Thread.currentThread()) {
+                continue; // Waiting on ourselves would never end
+            }
+            while (consumer.processed < published && consumer.thread.isAlive()) {
+                LockSupport.unpark(consumer.thread);
+                LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Delivers what has been published and stops the asynchronous subscribers.
+     */
+    public synchronized void close() {
+        Ring<T> target = ring;
+        if (target == null) {
+            return;
+        }
+        awaitDelivered();
+        ring = null;
+        for (Consumer<T> consumer : target.consumers) {
+            consumer.closing = true;
+            LockSupport.unpark(consumer.thread);
+            try {
+                consumer.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(ChangeSubscriber<T>[] current, ChangeType type, int id, T before, T after) {
+        ChangeEvent<T> event = scratch.get();
+        if (event.getType() != null) {
+            event = new ChangeEvent<>(); // A subscriber changed the storage again from its callback
+        }
+        event.set(type, id, before, after);
+        try {
+            for (ChangeSubscriber<T> subscriber : current) {
+                subscriber.onChange(event);
+            }
+        } finally {
+            event.set(null, 0, null, null); // Frees the event and lets go of the entities
+        }
+    }
+
+    private static final class Ring<T> {
+        private final ChangeEvent<T>[] slots;
+        private final AtomicLongArray published; // Sequence each slot holds, -1 until first written
+        private final AtomicIntegerArray readers; // Consumers yet to be handed each slot's event
+        private final int mask;
+        private final AtomicLong cursor = new AtomicLong(); // Next sequence to claim
+        @SuppressWarnings("unchecked")
+        private volatile Consumer<T>[] consumers = (Consumer<T>[]) new Consumer<?>[0];
+
+        @SuppressWarnings("unchecked")
+        private Ring(int size) {
+            slots = (ChangeEvent<T>[]) new ChangeEvent<?>[size];
+            published = new AtomicLongArray(size);
+            readers = new AtomicIntegerArray(size);
+            mask = size - 1;
+            for (int i = 0; i < size; i++) {
+                slots[i] = new ChangeEvent<>();
+                published.set(i, -1);
+            }
+        }
+
+        // Called with the bus lock held; the consumer starts at the next sequence to be claimed
+        private void add(Consumer<T> consumer) {
+            consumer.processed = cursor.get() - 1;
+            Consumer<T>[] grown = Arrays.copyOf(consumers, consumers.length + 1);
+            grown[consumers.length] = consumer;
+            consumers = grown;
+            // Start after whatever was claimed before the new consumer was counted as a reader
+            consumer.processed = cursor.get() - 1;
+            consumer.thread.start();
+        }
+
+        private void publish(ChangeType type, int id, T before, T after) {
+            long sequence = cursor.getAndIncrement();
+            // Read once after claiming, so gating and the reader count agree; a consumer added later starts past this sequence
+            Consumer<T>[] current = consumers;
+            long wrapPoint = sequence - slots.length;
+            while (slowest(current) < wrapPoint) {
+                // Backpressure: the slot still holds an event someone has not been handed
+                wake(current);
+                LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            }
+            int slot = (int) sequence & mask;
+            slots[slot].set(type, id, before, after);
+            readers.set(slot, readersOf(current, sequence));
+            published.set(slot, sequence);
+            wake(current);
+        }
+
+        // Consumers that will be handed the sequence: those not already started past it
+        private static <T> int readersOf(Consumer<T>[] current, long sequence) {
+            int count = 0;
+            for (Consumer<T> consumer : current) {
+                if (consumer.processed < sequence) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // The slot cannot be reused before every consumer has moved past it, so clearing it here is safe
+        private void handed(int slot) {
+            if (readers.decrementAndGet(slot) == 0) {
+                slots[slot].set(null, 0, null, null);
+            }
+        }
+
+        private static <T> long slowest(Consumer<T>[] current) {
+            long slowest = Long.MAX_VALUE;
+            for (Consumer<T> consumer : current) {
+                if (!consumer.closing) {
+                    slowest = Math.min(slowest, consumer.processed);
+                }
+            }
+            return slowest;
+        }
+
+        private static <T> void wake(Consumer<T>[] current) {
+            for (Consumer<T> consumer : current) {
+                if (consumer.parked) {
+                    LockSupport.unpark(consumer.thread);
+                }
+            }
+        }
+
+        private boolean isPublished(long sequence) {
+            return published.get((int) sequence & mask) == sequence;
+        }
+    }
+
+    private static final class Consumer<T> implements Runnable {
+        private final Ring<T> ring;
+        private final ChangeSubscriber<T> subscriber;
+        private final String name;
+        private final Thread thread;
+        private volatile long processed;
+        private volatile boolean parked;
+        private volatile boolean closing;
+
+        private Consumer(Ring<T> ring, ChangeSubscriber<T> subscriber, String name) {
+            this.ring = ring;
+            this.subscriber = subscriber;
+            this.name = name;
+            this.thread = new Thread(this, "gamevault-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = processed + 1;
+            while (true) {
+                long last = next - 1;
+                while (ring.isPublished(last + 1)) {
+                    last++;
+                }
+                if (last < next) {
+                    if (closing) {
+                        return;
+                    }
+                    parked = true;
+                    if (!ring.isPublished(next) && !closing) {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                    parked = false;
+                    continue;
+                }
+                for (long sequence = next; sequence <= last; sequence++) {
+                    int slot = (int) sequence & ring.mask;
+                    try {
+                        subscriber.onChange(ring.slots[slot]);
+                    } catch (RuntimeException e) {
+                        System.err.println("Change subscriber " + name + " failed: " + e.getMessage());
+                    } finally {
+                        ring.handed(slot);
+                    }
+                }
+                try {
+                    subscriber.onBatchEnd();
+                } catch (RuntimeException e) {
+                    System.err.println("Change subscriber " + name + " failed: " + e.getMessage());
+                }
+                processed = last;
+                next = last + 1;
+            }
+        }
+    }
+}
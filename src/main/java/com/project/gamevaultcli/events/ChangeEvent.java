@@ -0,0 +1,45 @@
+package com.project.gamevaultcli.events;
+
+/**
+ * One insert, update or delete on a storage, with the entity before and after the change.
+ * <p>
+ * Events are reused for later changes once they have been delivered, so a subscriber must copy
+ * out what it needs rather than keep the event. The before image is whatever the storage held
+ * under the ID: when an entity is changed in place and stored again, it is the same instance
+ * as the after image.
+ */
+public final class ChangeEvent<T> {
+
+    private ChangeType type;
+    private int id;
+    private T before;
+    private T after;
+
+    ChangeEvent() {
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // Null for inserts
+    public T getBefore() {
+        return before;
+    }
+
+    // Null for deletes
+    public T getAfter() {
+        return after;
+    }
+
+    void set(ChangeType type, int id, T before, T after) {
+        this.type = type;
+        this.id = id;
+        this.before = before;
+        this.after = after;
+    }
+}
@@ -0,0 +1,5 @@
+package com.project.gamevaultcli.events;
+
+public enum ChangeType {
+    INSERT, UPDATE, DELETE
+}
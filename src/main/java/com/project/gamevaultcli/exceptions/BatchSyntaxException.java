@@ -0,0 +1,9 @@
+package com.project.gamevaultcli.exceptions;
+
+public class BatchSyntaxException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public BatchSyntaxException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.gamevaultcli.exceptions;
+
+public class ImportFormatException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ImportFormatException(String message) {
+        super(message);
+    }
+}
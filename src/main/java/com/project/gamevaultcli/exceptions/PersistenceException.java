@@ -0,0 +1,9 @@
+package com.project.gamevaultcli.exceptions;
+
+public class PersistenceException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PersistenceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
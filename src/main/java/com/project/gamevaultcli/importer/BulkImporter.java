@@ -0,0 +1,248 @@
+package com.project.gamevaultcli.importer;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.exceptions.ImportFormatException;
+import com.project.gamevaultcli.management.GameManagement;
+import com.project.gamevaultcli.management.UserManagement;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Streams games or users from a CSV file (with a header line) or a JSON Lines file.
+ * <p>
+ * The calling thread reads lines and hands them out in chunks to a fork-join pool, which
+ * parses and validates them. Parsed chunks are inserted in file order with one
+ * {@code saveAll} per chunk, and only a few chunks are in flight at a time, so memory stays
+ * bounded however large the file is. Lines that fail are written to the reject file as
+ * {@code line number, tab, reason, tab, original line} and the import carries on.
+ * <p>
+ * Game fields: title, description, developer, platform, price, releaseDate (yyyy-MM-dd).
+ * User fields: email, password, username, walletBalance.
+ */
+public class BulkImporter {
+
+    private static final String[] GAME_FIELDS = {"title", "description", "developer", "platform", "price", "releaseDate"};
+    private static final String[] USER_FIELDS = {"email", "password", "username", "walletBalance"};
+    private static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+    private final UserManagement userManagement;
+    private final GameManagement gameManagement;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    public BulkImporter(UserManagement userManagement, GameManagement gameManagement) {
+        this(userManagement, gameManagement, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkImporter(UserManagement userManagement, GameManagement gameManagement, ForkJoinPool pool, int chunkSize) {
+        this.userManagement = userManagement;
+        this.gameManagement = gameManagement;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = pool.getParallelism() * 2 + 1;
+    }
+
+    public ImportResult importGames(Path file, Path rejectFile) throws IOException {
+        return importFile(file, rejectFile, GAME_FIELDS, BulkImporter::toGame, gameManagement::addGames);
+    }
+
+    public ImportResult importUsers(Path file, Path rejectFile) throws IOException {
+        return importFile(file, rejectFile, USER_FIELDS, BulkImporter::toUser, userManagement::addUsers);
+    }
+
+    private <T> ImportResult importFile(Path file, Path rejectFile, String[] fieldNames, RecordMapper<T> mapper, Consumer<List<T>> insert) throws IOException {
+        long start = System.nanoTime();
+        boolean csv = isCsv(file);
+        Files.deleteIfExists(rejectFile);
+        Deque<ForkJoinTask<ParsedChunk<T>>> inFlight = new ArrayDeque<>();
+        long[] totals = new long[2]; // imported, rejected
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Rejects rejects = new Rejects(rejectFile)) {
+            long lineNumber = 0;
+            LineParser parser;
+            if (csv) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    return new ImportResult(0, 0, (System.nanoTime() - start) / 1_000_000);
+                }
+                parser = new CsvLineParser(header, fieldNames);
+            } else {
+                parser = new JsonLineParser(fieldNames);
+            }
+
+            List<String> lines = new ArrayList<>(chunkSize);
+            long firstLine = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    List<String> chunk = lines;
+                    long chunkStart = firstLine;
+                    inFlight.addLast(pool.submit(() -> parseChunk(chunk, chunkStart, parser, fieldNames.length, mapper)));
+                    if (inFlight.size() >= maxChunksInFlight) {
+                        insertChunk(inFlight.removeFirst().join(), insert, rejects, totals);
+                    }
+                    firstLine += chunk.size();
+                    lines = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!lines.isEmpty()) {
+                List<String> chunk = lines;
+                long chunkStart = firstLine;
+                inFlight.addLast(pool.submit(() -> parseChunk(chunk, chunkStart, parser, fieldNames.length, mapper)));
+            }
+            while (!inFlight.isEmpty()) {
+                insertChunk(inFlight.removeFirst().join(), insert, rejects, totals);
+            }
+        } finally {
+            for (ForkJoinTask<?> task : inFlight) {
+                task.cancel(false);
+            }
+        }
+        return new ImportResult(totals[0], totals[1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static <T> ParsedChunk<T> parseChunk(List<String> lines, long firstLine, LineParser parser, int fieldCount, RecordMapper<T> mapper) {
+        ParsedChunk<T> chunk = new ParsedChunk<>(lines.size());
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                parser.parse(line, fields);
+                chunk.records.add(mapper.map(fields));
+            } catch (Exception e) {
+                chunk.rejectCount++;
+                chunk.rejects.append(firstLine + i).append('\t').append(e.getMessage()).append('\t').append(line).append('\n');
+            }
+        }
+        return chunk;
+    }
+
+    private static <T> void insertChunk(ParsedChunk<T> chunk, Consumer<List<T>> insert, Rejects rejects, long[] totals) throws IOException {
+        insert.accept(chunk.records);
+        totals[0] += chunk.records.size();
+        if (chunk.rejectCount > 0) {
+            rejects.write(chunk.rejects);
+            totals[1] += chunk.rejectCount;
+        }
+    }
+
+    private static boolean isCsv(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return true;
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return false;
+        }
+        throw new ImportFormatException("Unknown import format for " + file + "; expected .csv or .jsonl");
+    }
+
+    private static Game toGame(String[] fields) {
+        String title = required(fields[0], "title");
+        String developer = required(fields[2], "developer");
+        String platform = required(fields[3], "platform");
+        float price = parseFloat(required(fields[4], "price"), "price");
+        if (price < 0) {
+            throw new ImportFormatException("Price cannot be negative");
+        }
+        Date releaseDate = new Date();
+        if (fields[5] != null) {
+            try {
+                releaseDate = Date.from(LocalDate.parse(fields[5]).atStartOfDay(ZoneOffset.UTC).toInstant());
+            } catch (DateTimeParseException e) {
+                throw new ImportFormatException("Invalid releaseDate, expected yyyy-MM-dd: " + fields[5]);
+            }
+        }
+        return new Game(title, fields[1], developer, platform, price, releaseDate);
+    }
+
+    private static User toUser(String[] fields) throws Exception {
+        float walletBalance = fields[3] == null ? 0f : parseFloat(fields[3], "walletBalance");
+        User user = new User(fields[0], fields[1], fields[2], walletBalance);
+        UserManagement.validateUser(user);
+        return user;
+    }
+
+    private static String required(String value, String field) {
+        if (value == null || value.isEmpty()) {
+            throw new ImportFormatException("Missing " + field);
+        }
+        return value;
+    }
+
+    private static float parseFloat(String value, String field) {
+        try {
+            float parsed = Float.parseFloat(value.trim());
+            if (Float.isNaN(parsed) || Float.isInfinite(parsed)) {
+                throw new NumberFormatException();
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new ImportFormatException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private interface RecordMapper<T> {
+        T map(String[] fields) throws Exception;
+    }
+
+    private static final class ParsedChunk<T> {
+        private final List<T> records;
+        private final StringBuilder rejects = new StringBuilder();
+        private int rejectCount;
+
+        private ParsedChunk(int capacity) {
+            this.records = new ArrayList<>(capacity);
+        }
+    }
+
+    // Opens the reject file on the first reject, so clean imports leave none behind
+    private static final class Rejects implements Closeable {
+        private final Path file;
+        private BufferedWriter writer;
+
+        private Rejects(Path file) {
+            this.file = file;
+        }
+
+        private void write(CharSequence rejects) throws IOException {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            writer.append(rejects);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.gamevaultcli.importer;
+
+import com.project.gamevaultcli.exceptions.ImportFormatException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RFC 4180 style CSV: comma separated, fields optionally double-quoted with {@code ""} as an
+ * escaped quote. Columns are matched to fields by the header line; unknown columns are ignored.
+ * A record must fit on one line.
+ */
+class CsvLineParser implements LineParser {
+
+    private final int[] fieldByColumn;
+
+    CsvLineParser(String header, String[] fieldNames) {
+        List<String> names = Arrays.asList(fieldNames);
+        String[] columns = new String[split(header, new String[0])];
+        split(header, columns);
+        fieldByColumn = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            fieldByColumn[i] = columns[i] == null ? -1 : names.indexOf(columns[i].trim());
+        }
+    }
+
+    @Override
+    public void parse(String line, String[] fields) {
+        Arrays.fill(fields, null);
+        String[] values = new String[fieldByColumn.length];
+        if (split(line, values) != values.length) {
+            throw new ImportFormatException("Expected " + values.length + " columns");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (fieldByColumn[i] >= 0) {
+                fields[fieldByColumn[i]] = values[i];
+            }
+        }
+    }
+
+    // Splits into values and returns the number of columns found; empty unquoted values become null
+    private static int split(String line, String[] values) {
+        int column = 0;
+        int i = 0;
+        int length = line.length();
+        while (true) {
+            String value;
+            if (i < length && line.charAt(i) == '"') {
+                StringBuilder quoted = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        throw new ImportFormatException("Unterminated quoted value");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < length && line.charAt(i) == '"') {
+                            quoted.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+                if (i < length && line.charAt(i) != ',') {
+                    throw new ImportFormatException("Unexpected text after quoted value");
+                }
+                value = quoted.toString();
+            } else {
+                int end = line.indexOf(',', i);
+                end = end < 0 ? length : end;
+                value = end == i ? null : line.substring(i, end);
+                i = end;
+            }
+            if (column < values.length) {
+                values[column] = value;
+            }
+            column++;
+            if (i >= length) {
+                return column;
+            }
+            i++; // Skip the comma
+        }
+    }
+}
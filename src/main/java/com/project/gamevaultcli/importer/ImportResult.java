@@ -0,0 +1,26 @@
+package com.project.gamevaultcli.importer;
+
+public class ImportResult {
+
+    private final long imported;
+    private final long rejected;
+    private final long elapsedMillis;
+
+    public ImportResult(long imported, long rejected, long elapsedMillis) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,138 @@
+package com.project.gamevaultcli.importer;
+
+import com.project.gamevaultcli.exceptions.ImportFormatException;
+
+import java.util.Arrays;
+
+/**
+ * One flat JSON object per line. String, number, boolean and null values are read into the
+ * field of the same name; unknown keys are skipped, nested objects and arrays are rejected.
+ */
+class JsonLineParser implements LineParser {
+
+    private final String[] fieldNames;
+
+    JsonLineParser(String[] fieldNames) {
+        this.fieldNames = fieldNames;
+    }
+
+    @Override
+    public void parse(String line, String[] fields) {
+        Arrays.fill(fields, null);
+        Cursor cursor = new Cursor(line);
+        cursor.expect('{');
+        if (!cursor.consume('}')) {
+            do {
+                String key = cursor.readString();
+                cursor.expect(':');
+                String value = cursor.readValue();
+                for (int i = 0; i < fieldNames.length; i++) {
+                    if (fieldNames[i].equals(key)) {
+                        fields[i] = value;
+                        break;
+                    }
+                }
+            } while (cursor.consume(','));
+            cursor.expect('}');
+        }
+        if (cursor.skipSpaces() < line.length()) {
+            throw new ImportFormatException("Unexpected text after the object");
+        }
+    }
+
+    private static final class Cursor {
+        private final String text;
+        private int position;
+
+        private Cursor(String text) {
+            this.text = text;
+        }
+
+        private int skipSpaces() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            return position;
+        }
+
+        private boolean consume(char c) {
+            if (skipSpaces() < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw new ImportFormatException("Expected '" + c + "' at column " + (position + 1));
+            }
+        }
+
+        // Strings are unescaped; other scalars are returned as written, and null as null
+        private String readValue() {
+            if (skipSpaces() < text.length() && text.charAt(position) == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < text.length() && ",}] \t".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String value = text.substring(start, position);
+            boolean literal = value.equals("true") || value.equals("false") || value.equals("null");
+            boolean number = !value.isEmpty() && (value.charAt(0) == '-' || Character.isDigit(value.charAt(0)));
+            if (!literal && !number) {
+                throw new ImportFormatException("Expected a string, number, boolean or null at column " + (start + 1));
+            }
+            return value.equals("null") ? null : value;
+        }
+
+        private String readString() {
+            expect('"');
+            int start = position;
+            StringBuilder escaped = null;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '"') {
+                    String value = escaped == null ? text.substring(start, position) : escaped.append(text, start, position).toString();
+                    position++;
+                    return value;
+                }
+                if (c != '\\') {
+                    position++;
+                    continue;
+                }
+                if (escaped == null) {
+                    escaped = new StringBuilder();
+                }
+                escaped.append(text, start, position);
+                if (position + 1 >= text.length()) {
+                    break;
+                }
+                char code = text.charAt(position + 1);
+                position += 2;
+                switch (code) {
+                    case 'b': escaped.append('\b'); break;
+                    case 'f': escaped.append('\f'); break;
+                    case 'n': escaped.append('\n'); break;
+                    case 'r': escaped.append('\r'); break;
+                    case 't': escaped.append('\t'); break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw new ImportFormatException("Truncated unicode escape");
+                        }
+                        try {
+                            escaped.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new ImportFormatException("Invalid unicode escape at column " + (position - 1));
+                        }
+                        position += 4;
+                        break;
+                    default: escaped.append(code); // \" \\ \/
+                }
+                start = position;
+            }
+            throw new ImportFormatException("Unterminated string");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.gamevaultcli.importer;
+
+/**
+ * Splits one input line into the importer's fields, in the order of its field names.
+ * Missing fields are left null.
+ */
+interface LineParser {
+
+    void parse(String line, String[] fields);
+}
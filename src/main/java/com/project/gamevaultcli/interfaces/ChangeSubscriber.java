@@ -0,0 +1,11 @@
+package com.project.gamevaultcli.interfaces;
+
+import com.project.gamevaultcli.events.ChangeEvent;
+
+public interface ChangeSubscriber<T> {
+    void onChange(ChangeEvent<T> event);
+
+    // Called by an asynchronous subscription after each batch of events it was handed
+    default void onBatchEnd() {
+    }
+}
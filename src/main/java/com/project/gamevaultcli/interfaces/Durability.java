@@ -0,0 +1,10 @@
+package com.project.gamevaultcli.interfaces;
+
+/**
+ * Lets a caller wait until the changes it has made so far are on disk.
+ */
+public interface Durability {
+    Durability NONE = () -> { };
+
+    void awaitDurable();
+}
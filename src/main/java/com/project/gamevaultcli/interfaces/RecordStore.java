@@ -0,0 +1,26 @@
+package com.project.gamevaultcli.interfaces;
+
+import java.util.Collection;
+
+/**
+ * Where a storage keeps its records, keyed by ID. Implementations are safe for concurrent use
+ * and hand out their records in ascending ID order.
+ */
+public interface RecordStore<T> {
+    T get(int id);
+
+    // Returns the record previously stored under the ID, or null
+    T put(int id, T record);
+
+    T remove(int id);
+
+    boolean containsKey(int id);
+
+    int size();
+
+    // Read-only view of every record
+    Collection<T> values();
+
+    // Read-only view of the records whose ID is greater than afterId
+    Collection<T> valuesAfter(int afterId);
+}
@@ -1,6 +1,9 @@
 package com.project.gamevaultcli.interfaces;
 
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface StorageInterface<T, ID> {
     T findById(ID id);
@@ -8,4 +11,20 @@ public interface StorageInterface<T, ID> {
     void save(T entity);
     void update(T entity);
     void delete(ID id);
+
+    // Lazy view over the stored entities, in ID order; nothing is copied up front
+    default Stream<T> stream() {
+        return findAll().stream();
+    }
+
+    default List<T> findPage(int offset, int limit) {
+        return stream().skip(offset).limit(limit).collect(Collectors.toList());
+    }
+
+    // Keyset paging: up to limit entities whose ID comes after afterId (null for the first page)
+    List<T> findPageAfter(ID afterId, int limit);
+
+    default List<T> findWhere(Predicate<? super T> filter) {
+        return stream().filter(filter).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,287 @@
+package com.project.gamevaultcli.load;
+
+import com.project.gamevaultcli.GameVaultContext;
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.metrics.LatencyHistogram;
+import com.project.gamevaultcli.utils.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulates shoppers against an in-process Game Vault and reports throughput and latency
+ * percentiles per operation.
+ * <p>
+ * In closed-loop mode (the default) every simulated user runs its own loop and issues the
+ * next operation as soon as the previous one returns. With {@code --rate} operations arrive
+ * on a fixed schedule instead, whether or not earlier ones have finished, and latency is
+ * measured from the scheduled start, so time spent queueing behind a slow operation shows
+ * up in the tail instead of being hidden by coordinated omission.
+ * <p>
+ * Options: {@code --users=100 --games=1000 --duration=30 --warmup=5 --rate=0 --threads=0
+ * --virtual --mix=browse:40,cart:35,order:15,history:10}. Durations are in seconds and the
+ * rate is in operations per second; {@code --threads} sizes the open-loop worker pool.
+ * <p>
+ * Run with {@code java -cp target/classes com.project.gamevaultcli.load.LoadDriver --users=500}.
+ */
+public class LoadDriver {
+
+    enum Operation {
+        BROWSE("browse"), ADD_TO_CART("cart"), PLACE_ORDER("order"), VIEW_HISTORY("history");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    private final GameVaultContext context;
+    private final int[] userIds;
+    private final int[] gameIds;
+    private final Operation[] mix;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder[] errors = new LongAdder[Operation.values().length];
+
+    LoadDriver(GameVaultContext context, int users, int games, Operation[] mix) {
+        this.context = context;
+        this.mix = mix;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+            errors[i] = new LongAdder();
+        }
+
+        List<Game> catalog = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            catalog.add(new Game("Game " + i, "Load test game " + i, "Studio " + (i % 50), i % 2 == 0 ? "PC" : "PS5", 5 + i % 60, new Date()));
+        }
+        context.getGameManagement().addGames(catalog);
+        gameIds = catalog.stream().mapToInt(Game::getGameId).toArray();
+
+        List<User> shoppers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            shoppers.add(new User("shopper" + i + "@example.com", "password", "shopper" + i, 1_000_000f));
+        }
+        context.getUserManagement().addUsers(shoppers);
+        userIds = shoppers.stream().mapToInt(User::getUserId).toArray();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int users = intOption(args, "users", 100);
+        int games = intOption(args, "games", 1000);
+        int duration = intOption(args, "duration", 30);
+        int warmup = intOption(args, "warmup", 5);
+        int rate = intOption(args, "rate", 0);
+        int threads = intOption(args, "threads", 0);
+        boolean virtual = Arrays.asList(args).contains("--virtual");
+        Operation[] mix = parseMix(option(args, "mix", "browse:40,cart:35,order:15,history:10"));
+
+        LoadDriver driver = new LoadDriver(new GameVaultContext(), users, games, mix);
+        ExecutorService executor = newExecutor(virtual, rate > 0 ? (threads > 0 ? threads : Runtime.getRuntime().availableProcessors() * 4) : users);
+        System.out.printf("Running %s load: %d users, %d games, %ds warmup + %ds%s%n", rate > 0 ? "open-loop" : "closed-loop",
+                users, games, warmup, duration, rate > 0 ? " at " + rate + " ops/s" : "");
+
+        long measuredNanos = rate > 0
+                ? driver.runOpenLoop(executor, rate, warmup, duration)
+                : driver.runClosedLoop(executor, warmup, duration);
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        driver.printReport(measuredNanos);
+    }
+
+    /**
+     * One loop per user until the deadline. Returns the length of the measured interval.
+     */
+    long runClosedLoop(ExecutorService executor, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (int userId : userIds) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    Operation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+                    long begin = System.nanoTime();
+                    perform(operation, userId, begin);
+                }
+            });
+        }
+        sleepUntil(measureFrom);
+        resetStats();
+        sleepUntil(deadline);
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        return deadline - measureFrom;
+    }
+
+    /**
+     * Issues operations at a fixed rate spread over the users. Returns the length of the measured interval.
+     */
+    long runOpenLoop(ExecutorService executor, int rate, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        boolean measuring = false;
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= deadline) {
+                break;
+            }
+            if (!measuring && scheduled >= measureFrom) {
+                sleepUntil(measureFrom);
+                resetStats();
+                measuring = true;
+            }
+            sleepUntil(scheduled);
+            int userId = userIds[(int) (i % userIds.length)];
+            Operation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+            executor.execute(() -> perform(operation, userId, scheduled));
+        }
+        // Let queued operations finish so their (late) latencies are counted
+        executor.shutdown();
+        executor.awaitTermination(60, TimeUnit.SECONDS);
+        return deadline - measureFrom;
+    }
+
+    // Latency is taken from the given start, which is the scheduled time in open-loop mode
+    private void perform(Operation operation, int userId, long startNanos) {
+        try {
+            switch (operation) {
+                case BROWSE:
+                    context.getGameManagement().getAllGames();
+                    break;
+                case ADD_TO_CART:
+                    Game game = context.getGameManagement().getGame(gameIds[ThreadLocalRandom.current().nextInt(gameIds.length)]);
+                    context.getCartManagement().addGameToCart(userId, game);
+                    break;
+                case PLACE_ORDER:
+                    context.getOrderManagement().placeOrder(userId);
+                    break;
+                case VIEW_HISTORY:
+                    context.getOrderManagement().getOrdersForUser(userId);
+                    context.getTransactionManagement().getTransactionsForUser(userId);
+                    break;
+            }
+        } catch (RuntimeException e) {
+            errors[operation.ordinal()].increment(); // e.g. checking out an empty cart
+        }
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    private void resetStats() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i].reset();
+            errors[i].reset();
+        }
+    }
+
+    void printReport(long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        List<OperationReport> rows = new ArrayList<>();
+        long total = 0;
+        LatencyHistogram all = new LatencyHistogram();
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = latencies[operation.ordinal()];
+            if (histogram.getCount() > 0) {
+                rows.add(new OperationReport(operation.key, histogram, errors[operation.ordinal()].sum(), seconds));
+                total += histogram.getCount();
+                all.add(histogram);
+            }
+        }
+        rows.add(new OperationReport("all", all, Arrays.stream(errors).mapToLong(LongAdder::sum).sum(), seconds));
+        Util.printTable(rows, Arrays.asList("operation", "count", "throughput", "p50", "p99", "p999", "max", "errors"));
+        System.out.printf("%d operations in %.1fs; latencies in microseconds, throughput in ops/s%n", total, seconds);
+    }
+
+    private static ExecutorService newExecutor(boolean virtual, int threads) {
+        if (virtual) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads are not available on this runtime; using platform threads");
+            }
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    // Expands "browse:40,cart:35" into a lookup table where each operation appears as often as its weight
+    static Operation[] parseMix(String spec) {
+        List<Operation> table = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+            Operation operation = Arrays.stream(Operation.values())
+                    .filter(op -> op.key.equals(keyAndWeight[0].trim().toLowerCase(Locale.ROOT)))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + keyAndWeight[0]));
+            int weight = keyAndWeight.length > 1 ? Integer.parseInt(keyAndWeight[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                table.add(operation);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix is empty");
+        }
+        return table.toArray(new Operation[0]);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    private static int intOption(String[] args, String name, int defaultValue) {
+        return Integer.parseInt(option(args, name, String.valueOf(defaultValue)));
+    }
+
+    // One row of the report table; values are preformatted for printTable
+    static class OperationReport {
+        private final String operation;
+        private final long count;
+        private final String throughput;
+        private final String p50;
+        private final String p99;
+        private final String p999;
+        private final String max;
+        private final long errors;
+
+        OperationReport(String operation, LatencyHistogram histogram, long errors, double seconds) {
+            this.operation = operation;
+            this.count = histogram.getCount();
+            this.throughput = String.format("%.0f", count / seconds);
+            this.p50 = micros(histogram.valueAtPercentile(50));
+            this.p99 = micros(histogram.valueAtPercentile(99));
+            this.p999 = micros(histogram.valueAtPercentile(99.9));
+            this.max = micros(histogram.getMax());
+            this.errors = errors;
+        }
+
+        private static String micros(long nanos) {
+            return String.format("%.1f", nanos / 1000.0);
+        }
+    }
+}
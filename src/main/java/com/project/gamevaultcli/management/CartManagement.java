@@ -7,45 +7,205 @@ package com.project.gamevaultcli.management;
 import com.project.gamevaultcli.entities.Cart;
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.exceptions.CartEmptyException;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.metrics.OperationTimer;
 import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.storage.GameStorage;
+import com.project.gamevaultcli.utils.StripedLock;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
 
 public class CartManagement {
 
+    private static final OperationTimer GET_CART = Metrics.timer("CartManagement.getCart");
+    private static final OperationTimer ADD_GAME_TO_CART = Metrics.timer("CartManagement.addGameToCart");
+    private static final OperationTimer ADD_GAMES_TO_CART = Metrics.timer("CartManagement.addGamesToCart");
+    private static final OperationTimer REMOVE_GAME_FROM_CART = Metrics.timer("CartManagement.removeGameFromCart");
+    private static final OperationTimer REMOVE_GAMES_FROM_CART = Metrics.timer("CartManagement.removeGamesFromCart");
+    private static final OperationTimer IS_IN_CART = Metrics.timer("CartManagement.isInCart");
+    private static final OperationTimer GET_GAMES_IN_CART = Metrics.timer("CartManagement.getGamesInCart");
+
     private final CartStorage cartStorage;
+    private final GameStorage gameStorage;
+    private final StripedLock userLocks; // Shared with OrderManagement so cart changes and checkout don't interleave
 
-    public CartManagement(CartStorage cartStorage) {
+    public CartManagement(CartStorage cartStorage, GameStorage gameStorage, StripedLock userLocks) {
         this.cartStorage = cartStorage;
+        this.gameStorage = gameStorage;
+        this.userLocks = userLocks;
     }
 
     public Cart getCart(int userId) {
-        Cart cart = cartStorage.findById(userId);
-        if (cart == null) {
-            cart = new Cart(userId); // Create a new cart if it doesn't exist
-            cartStorage.save(cart);
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                return findOrCreateCart(userId);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            GET_CART.record(start);
         }
-        return cart;
     }
 
-    public void addGameToCart(int userId, Game game) {
-        Cart cart = getCart(userId);
-        cart.addGame(game);
-        cartStorage.update(cart); // Update the cart in storage
+    /**
+     * Returns false, and changes nothing, when the game is already in the cart.
+     */
+    public boolean addGameToCart(int userId, Game game) {
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                Cart cart = findOrCreateCart(userId);
+                if (!cart.addGame(game)) {
+                    return false;
+                }
+                cartStorage.update(cart); // Update the cart in storage
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            ADD_GAME_TO_CART.record(start);
+        }
     }
 
-    public void removeGameFromCart(int userId, Game game) {
-        Cart cart = getCart(userId);
-        cart.removeGame(game);
-        cartStorage.update(cart);
+    /**
+     * Adds every game not yet in the cart with a single storage update, e.g. for a bundle.
+     * Returns how many were added.
+     */
+    public int addGamesToCart(int userId, Collection<Game> games) {
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                Cart cart = findOrCreateCart(userId);
+                int added = 0;
+                for (Game game : games) {
+                    if (cart.addGame(game)) {
+                        added++;
+                    }
+                }
+                if (added > 0) {
+                    cartStorage.update(cart);
+                }
+                return added;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            ADD_GAMES_TO_CART.record(start);
+        }
+    }
+
+    /**
+     * Returns false, and changes nothing, when the game was not in the cart.
+     */
+    public boolean removeGameFromCart(int userId, Game game) {
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                Cart cart = findOrCreateCart(userId);
+                if (!cart.removeGame(game)) {
+                    return false;
+                }
+                cartStorage.update(cart);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            REMOVE_GAME_FROM_CART.record(start);
+        }
+    }
+
+    /**
+     * Removes the games with a single storage update. Returns how many were in the cart.
+     */
+    public int removeGamesFromCart(int userId, Collection<Game> games) {
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                Cart cart = findOrCreateCart(userId);
+                int removed = 0;
+                for (Game game : games) {
+                    if (cart.removeGame(game)) {
+                        removed++;
+                    }
+                }
+                if (removed > 0) {
+                    cartStorage.update(cart);
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            REMOVE_GAMES_FROM_CART.record(start);
+        }
+    }
+
+    public boolean isInCart(int userId, int gameId) {
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                Cart cart = cartStorage.findById(userId);
+                return cart != null && cart.containsGame(gameId);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            IS_IN_CART.record(start);
+        }
     }
 
     public List<Game> getGamesInCart(int userId) throws CartEmptyException {
-        Cart cart = getCart(userId);
-        List<Game> games = cart.getGames();
-        if (games.isEmpty()) {
-            throw new CartEmptyException("Cart is empty for user: " + userId);
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                Cart cart = findOrCreateCart(userId);
+                if (cart.isEmpty()) {
+                    throw new CartEmptyException("Cart is empty for user: " + userId);
+                }
+                // Games deleted from the catalog since they were added are left out
+                List<Game> games = new ArrayList<>(cart.getGameCount());
+                for (int gameId : cart.getGameIds()) {
+                    Game game = gameStorage.findById(gameId);
+                    if (game != null) {
+                        games.add(game);
+                    }
+                }
+                return games;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            GET_GAMES_IN_CART.record(start);
+        }
+    }
+
+    // Callers hold the user's lock
+    private Cart findOrCreateCart(int userId) {
+        Cart cart = cartStorage.findById(userId);
+        if (cart == null) {
+            cart = new Cart(userId); // Create a new cart if it doesn't exist
+            cartStorage.save(cart);
         }
-        return games;
+        return cart;
     }
 }
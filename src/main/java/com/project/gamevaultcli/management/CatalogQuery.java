@@ -0,0 +1,31 @@
+package com.project.gamevaultcli.management;
+
+/**
+ * Facet filters for {@link GameManagement#queryCatalog}. Null fields are not filtered on;
+ * the price band is inclusive on both ends.
+ */
+public class CatalogQuery {
+    private final String platform;
+    private final String developer;
+    private final Float minPrice;
+    private final Float maxPrice;
+    private final int limit;
+
+    public CatalogQuery(String platform, String developer, Float minPrice, Float maxPrice, int limit) {
+        this.platform = platform;
+        this.developer = developer;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.limit = limit;
+    }
+
+    public String getPlatform() { return platform; }
+    public String getDeveloper() { return developer; }
+    public Float getMinPrice() { return minPrice; }
+    public Float getMaxPrice() { return maxPrice; }
+    public int getLimit() { return limit; }
+
+    public boolean hasPriceBand() {
+        return minPrice != null || maxPrice != null;
+    }
+}
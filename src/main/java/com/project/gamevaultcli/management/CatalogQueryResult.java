@@ -0,0 +1,26 @@
+package com.project.gamevaultcli.management;
+
+import com.project.gamevaultcli.entities.Game;
+
+import java.util.List;
+import java.util.Map;
+
+public class CatalogQueryResult {
+    private final List<Game> games;
+    private final int totalMatches;
+    private final Map<String, Integer> platformCounts;
+    private final Map<String, Integer> developerCounts;
+
+    public CatalogQueryResult(List<Game> games, int totalMatches, Map<String, Integer> platformCounts, Map<String, Integer> developerCounts) {
+        this.games = games;
+        this.totalMatches = totalMatches;
+        this.platformCounts = platformCounts;
+        this.developerCounts = developerCounts;
+    }
+
+    // At most the query's limit of matching games
+    public List<Game> getGames() { return games; }
+    public int getTotalMatches() { return totalMatches; }
+    public Map<String, Integer> getPlatformCounts() { return platformCounts; }
+    public Map<String, Integer> getDeveloperCounts() { return developerCounts; }
+}
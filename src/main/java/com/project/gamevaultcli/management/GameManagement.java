@@ -7,39 +7,204 @@ package com.project.gamevaultcli.management;
 
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.exceptions.GameNotFoundException;
+import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.metrics.OperationTimer;
 import com.project.gamevaultcli.storage.GameStorage;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 public class GameManagement {
 
+    private static final OperationTimer GET_GAME = Metrics.timer("GameManagement.getGame");
+    private static final OperationTimer GET_ALL_GAMES = Metrics.timer("GameManagement.getAllGames");
+    private static final OperationTimer STREAM_GAMES = Metrics.timer("GameManagement.streamGames");
+    private static final OperationTimer GET_GAMES_PAGE = Metrics.timer("GameManagement.getGamesPage");
+    private static final OperationTimer SEARCH = Metrics.timer("GameManagement.search");
+    private static final OperationTimer QUERY_CATALOG = Metrics.timer("GameManagement.queryCatalog");
+    private static final OperationTimer ADD_GAME = Metrics.timer("GameManagement.addGame");
+    private static final OperationTimer ADD_GAMES = Metrics.timer("GameManagement.addGames");
+    private static final OperationTimer UPDATE_GAME = Metrics.timer("GameManagement.updateGame");
+    private static final OperationTimer DELETE_GAME = Metrics.timer("GameManagement.deleteGame");
+
     private final GameStorage gameStorage;
+    private final StorageInterface<Game, Integer> gameLookup; // Point lookups and single writes, possibly through a cache
 
     public GameManagement(GameStorage gameStorage) {
+        this(gameStorage, gameStorage);
+    }
+
+    public GameManagement(GameStorage gameStorage, StorageInterface<Game, Integer> gameLookup) {
         this.gameStorage = gameStorage;
+        this.gameLookup = gameLookup;
     }
 
     public Game getGame(int gameId) throws GameNotFoundException {
-        Game game = gameStorage.findById(gameId);
-        if (game == null) {
-            throw new GameNotFoundException("Game not found with ID: " + gameId);
+        long start = System.nanoTime();
+        try {
+            Game game = gameLookup.findById(gameId);
+            if (game == null) {
+                throw new GameNotFoundException("Game not found with ID: " + gameId);
+            }
+            return game;
+        } finally {
+            GET_GAME.record(start);
         }
-        return game;
     }
 
     public List<Game> getAllGames() {
-        return gameStorage.findAll();
+        long start = System.nanoTime();
+        try {
+            return gameStorage.findAll();
+        } finally {
+            GET_ALL_GAMES.record(start);
+        }
+    }
+
+    public Stream<Game> streamGames() {
+        long start = System.nanoTime();
+        try {
+            return gameStorage.stream();
+        } finally {
+            STREAM_GAMES.record(start);
+        }
+    }
+
+    public List<Game> getGamesPage(Integer afterGameId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return gameStorage.findPageAfter(afterGameId, limit);
+        } finally {
+            GET_GAMES_PAGE.record(start);
+        }
+    }
+
+    public List<Game> search(String query, int limit) {
+        long start = System.nanoTime();
+        try {
+            return gameStorage.search(query, limit);
+        } finally {
+            SEARCH.record(start);
+        }
+    }
+
+    /**
+     * Filters the catalog by platform, developer and price band and counts the matches per facet.
+     * Candidates come from the smallest index involved; the other filters are checked per ID
+     * against the indexed values, so a price-band query costs O(log n + k).
+     */
+    public CatalogQueryResult queryCatalog(CatalogQuery query) {
+        long start = System.nanoTime();
+        try {
+            String platform = GameStorage.facetKey(query.getPlatform());
+            String developer = GameStorage.facetKey(query.getDeveloper());
+
+            List<Set<Integer>> facetSets = new ArrayList<>();
+            if (platform != null) {
+                facetSets.add(gameStorage.findIdsByPlatform(platform));
+            }
+            if (developer != null) {
+                facetSets.add(gameStorage.findIdsByDeveloper(developer));
+            }
+            facetSets.sort(Comparator.comparingInt(Set::size)); // Index sets keep a count, so size() is O(1)
+
+            Iterator<Integer> candidates;
+            if (!facetSets.isEmpty()) {
+                Set<Integer> smallest = facetSets.get(0);
+                candidates = smallest.iterator();
+                if (query.hasPriceBand()) {
+                    // Only walk the price band if it turns out smaller than the smallest facet set
+                    long bandSize = gameStorage.findIdsByPriceRange(query.getMinPrice(), query.getMaxPrice()).limit(smallest.size() + 1L).count();
+                    if (bandSize <= smallest.size()) {
+                        candidates = gameStorage.findIdsByPriceRange(query.getMinPrice(), query.getMaxPrice()).iterator();
+                    }
+                }
+            } else if (query.hasPriceBand()) {
+                candidates = gameStorage.findIdsByPriceRange(query.getMinPrice(), query.getMaxPrice()).iterator();
+            } else {
+                candidates = gameStorage.stream().map(Game::getGameId).iterator();
+            }
+
+            List<Game> games = new ArrayList<>();
+            Map<String, Integer> platformCounts = new TreeMap<>();
+            Map<String, Integer> developerCounts = new TreeMap<>();
+            int totalMatches = 0;
+            while (candidates.hasNext()) {
+                int gameId = candidates.next();
+                String gamePlatform = gameStorage.platformKeyOf(gameId);
+                String gameDeveloper = gameStorage.developerKeyOf(gameId);
+                Float price = gameStorage.priceOf(gameId);
+                if ((platform != null && !platform.equals(gamePlatform))
+                        || (developer != null && !developer.equals(gameDeveloper))
+                        || !inPriceBand(price, query)) {
+                    continue;
+                }
+                totalMatches++;
+                platformCounts.merge(Objects.toString(gamePlatform), 1, Integer::sum);
+                developerCounts.merge(Objects.toString(gameDeveloper), 1, Integer::sum);
+                if (games.size() < query.getLimit()) {
+                    Game game = gameLookup.findById(gameId);
+                    if (game != null) {
+                        games.add(game);
+                    }
+                }
+            }
+            return new CatalogQueryResult(games, totalMatches, platformCounts, developerCounts);
+        } finally {
+            QUERY_CATALOG.record(start);
+        }
+    }
+
+    private static boolean inPriceBand(Float price, CatalogQuery query) {
+        if (!query.hasPriceBand()) {
+            return true;
+        }
+        return price != null
+                && (query.getMinPrice() == null || price >= query.getMinPrice())
+                && (query.getMaxPrice() == null || price <= query.getMaxPrice());
     }
 
     public void addGame(Game game) {
-        gameStorage.save(game);
+        long start = System.nanoTime();
+        try {
+            gameLookup.save(game);
+        } finally {
+            ADD_GAME.record(start);
+        }
+    }
+
+    public void addGames(List<Game> games) {
+        long start = System.nanoTime();
+        try {
+            gameStorage.saveAll(games);
+        } finally {
+            ADD_GAMES.record(start);
+        }
     }
 
     public void updateGame(Game game) {
-        gameStorage.update(game);
+        long start = System.nanoTime();
+        try {
+            gameLookup.update(game);
+        } finally {
+            UPDATE_GAME.record(start);
+        }
     }
 
     public void deleteGame(int gameId) {
-        gameStorage.delete(gameId);
+        long start = System.nanoTime();
+        try {
+            gameLookup.delete(gameId);
+        } finally {
+            DELETE_GAME.record(start);
+        }
     }
 }
@@ -15,7 +15,6 @@ public class GameVaultManagement {
     private final GameManagement gameManagement;
     private final OrderManagement orderManagement;
     private final TransactionManagement transactionManagement;
-    private User currentUser = null;
 
     public GameVaultManagement(UserManagement userManagement, GameManagement gameManagement, OrderManagement orderManagement, TransactionManagement transactionManagement) {
         this.userManagement = userManagement;
@@ -52,18 +51,12 @@ public class GameVaultManagement {
         }
     }
 
-    // Add login method to GameVaultManager
+    // Add login method to GameVaultManager; each menu session keeps its own logged-in user
     public User login(int userId) throws UserNotFoundException {
         User user = userManagement.getUser(userId);
         if (user == null) {
             throw new UserNotFoundException("User not found with ID: " + userId);
         }
-        this.currentUser = user;
         return user;
     }
-
-    // Add logout method to GameVaultManager
-    public void logout() {
-        this.currentUser = null;
-    }
 }
\ No newline at end of file
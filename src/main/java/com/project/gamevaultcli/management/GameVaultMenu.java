@@ -1,5 +1,7 @@
 package com.project.gamevaultcli.management;
 
+import com.project.gamevaultcli.analytics.MaterializedTotals;
+import com.project.gamevaultcli.analytics.RevenueAnalytics;
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.entities.Order;
 import com.project.gamevaultcli.entities.Transaction;
@@ -7,27 +9,41 @@ import com.project.gamevaultcli.entities.User;
 import com.project.gamevaultcli.exceptions.CartEmptyException;
 import com.project.gamevaultcli.exceptions.GameNotFoundException;
 import com.project.gamevaultcli.exceptions.UserNotFoundException;
+import com.project.gamevaultcli.metrics.CacheStats;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.metrics.StartupTimeline;
 import com.project.gamevaultcli.utils.Util;
 
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.function.Supplier;
 
 public class GameVaultMenu {
 
-    private final UserManagement userManagement;
-    private final GameManagement gameManagement;
-    private final CartManagement cartManagement;
-    private final OrderManagement orderManagement;
-    private final TransactionManagement transactionManagement;
-    private final GameVaultManagement vaultManager; // Reference to the manager
-    private final Scanner scanner = new Scanner(System.in);
+    // Looked up when a choice needs them, so the menu can show up while the data is still loading
+    private final Supplier<UserManagement> userManagement;
+    private final Supplier<GameManagement> gameManagement;
+    private final Supplier<CartManagement> cartManagement;
+    private final Supplier<OrderManagement> orderManagement;
+    private final Supplier<TransactionManagement> transactionManagement;
+    private final Supplier<GameVaultManagement> vaultManager; // Reference to the manager
+    private final Supplier<RevenueAnalytics> analytics; // null when reports are not available
+    private final Scanner scanner;
+    private final PrintStream out;
 
     private User currentUser = null; // Track the currently logged-in user.
 
-    public GameVaultMenu(UserManagement userManagement, GameManagement gameManagement, CartManagement cartManagement, OrderManagement orderManagement, TransactionManagement transactionManagement, GameVaultManagement vaultManager) {
+    // One menu per session; sessions can share the managements but each has its own input, output and login
+    public GameVaultMenu(Supplier<UserManagement> userManagement, Supplier<GameManagement> gameManagement, Supplier<CartManagement> cartManagement, Supplier<OrderManagement> orderManagement,
+                         Supplier<TransactionManagement> transactionManagement, Supplier<GameVaultManagement> vaultManager, Supplier<RevenueAnalytics> analytics, InputStream in, PrintStream out) {
+        this.analytics = analytics;
+        this.scanner = new Scanner(in);
+        this.out = out;
         this.userManagement = userManagement;
         this.gameManagement = gameManagement;
         this.cartManagement = cartManagement;
@@ -78,234 +94,358 @@ public class GameVaultMenu {
                     case 11:
                         logout();
                         break;
+                    case 12:
+                        searchGames();
+                        break;
+                    case 13:
+                        filterGames();
+                        break;
+                    case 14:
+                        viewStats();
+                        break;
+                    case 15:
+                        reports();
+                        break;
                     case 0:
                         running = false;
-                        System.out.println("Exiting Game Vault CLI...");
+                        out.println("Exiting Game Vault CLI...");
                         break;
                     default:
-                        System.out.println("Invalid choice. Please try again.");
+                        out.println("Invalid choice. Please try again.");
                 }
             } catch (InputMismatchException e) {
-                System.out.println("Invalid input. Please enter a number.");
+                out.println("Invalid input. Please enter a number.");
                 scanner.nextLine(); // Clear the invalid input
+            } catch (NoSuchElementException e) {
+                running = false; // Input closed, e.g. the end of piped input or a dropped connection
             } catch (Exception e) {
-                System.out.println("An unexpected error occurred: " + e.getMessage());
+                out.println("An unexpected error occurred: " + e.getMessage());
             }
         }
     }
 
     private void displayMenu() {
-        System.out.println("\nGame Vault CLI Menu:");
-        System.out.println("Current User: " + (currentUser != null ? currentUser.getUsername() : "Not logged in")); // Show current user
-        System.out.println("1. Create User");
-        System.out.println("2. Create Game");
-        System.out.println("3. Add Game to Cart");
-        System.out.println("4. Place Order");
-        System.out.println("5. Create Transaction");
-        System.out.println("6. List Games");
-        System.out.println("7. List Users");
-        System.out.println("8. View Orders");
-        System.out.println("9. View Transactions");
-        System.out.println("10. Login");
-        System.out.println("11. Logout");
-        System.out.println("0. Exit");
-        System.out.print("Enter your choice: ");
+        out.println("\nGame Vault CLI Menu:");
+        out.println("Current User: " + (currentUser != null ? currentUser.getUsername() : "Not logged in")); // Show current user
+        out.println("1. Create User");
+        out.println("2. Create Game");
+        out.println("3. Add Game to Cart");
+        out.println("4. Place Order");
+        out.println("5. Create Transaction");
+        out.println("6. List Games");
+        out.println("7. List Users");
+        out.println("8. View Orders");
+        out.println("9. View Transactions");
+        out.println("10. Login");
+        out.println("11. Logout");
+        out.println("12. Search Games");
+        out.println("13. Filter Games");
+        out.println("14. View Stats");
+        out.println("15. Reports");
+        out.println("0. Exit");
+        out.print("Enter your choice: ");
     }
 
     private void createUser() {
         try {
-            System.out.print("Enter email: ");
+            out.print("Enter email: ");
             String email = scanner.nextLine();
-            System.out.print("Enter password: ");
+            out.print("Enter password: ");
             String password = scanner.nextLine();
-            System.out.print("Enter username: ");
+            out.print("Enter username: ");
             String username = scanner.nextLine();
-            System.out.print("Enter wallet balance: ");
+            out.print("Enter wallet balance: ");
             float walletBalance = scanner.nextFloat();
             scanner.nextLine(); // Consume newline
 
             User user = new User(email, password, username, walletBalance);
-            userManagement.addUser(user);
-            System.out.println("User created: " + user.getUsername() + " with ID: " + user.getUserId());
+            userManagement.get().addUser(user);
+            out.println("User created: " + user.getUsername() + " with ID: " + user.getUserId());
         } catch (Exception e) {
-            System.out.println("Error creating user: " + e.getMessage());
+            out.println("Error creating user: " + e.getMessage());
         }
     }
 
     private void createGame() {
         try {
-            System.out.print("Enter game title: ");
+            out.print("Enter game title: ");
             String title = scanner.nextLine();
-            System.out.print("Enter game description: ");
+            out.print("Enter game description: ");
             String description = scanner.nextLine();
-            System.out.print("Enter game developer: ");
+            out.print("Enter game developer: ");
             String developer = scanner.nextLine();
-            System.out.print("Enter game platform: ");
+            out.print("Enter game platform: ");
             String platform = scanner.nextLine();
-            System.out.print("Enter game price: ");
+            out.print("Enter game price: ");
             float price = scanner.nextFloat();
             scanner.nextLine(); // Consume newline
 
             Game game = new Game(title, description, developer, platform, price, new java.util.Date());
-            gameManagement.addGame(game);
-            System.out.println("Game created: " + game.getTitle() + " with ID: " + game.getGameId());
+            gameManagement.get().addGame(game);
+            out.println("Game created: " + game.getTitle() + " with ID: " + game.getGameId());
         } catch (Exception e) {
-            System.out.println("Error creating game: " + e.getMessage());
+            out.println("Error creating game: " + e.getMessage());
         }
     }
 
     private void addGameToCart() {
         if (currentUser == null) {
-            System.out.println("Please log in first.");
+            out.println("Please log in first.");
             return;
         }
         try {
-            System.out.print("Enter Game ID to add to cart: ");
+            out.print("Enter Game ID to add to cart: ");
             int gameId = scanner.nextInt();
             scanner.nextLine();
 
-            Game game = gameManagement.getGame(gameId);
-            cartManagement.addGameToCart(currentUser.getUserId(), game);
-            System.out.println("Added " + game.getTitle() + " to cart for user " + currentUser.getUsername());
+            Game game = gameManagement.get().getGame(gameId);
+            if (cartManagement.get().addGameToCart(currentUser.getUserId(), game)) {
+                out.println("Added " + game.getTitle() + " to cart for user " + currentUser.getUsername());
+            } else {
+                out.println(game.getTitle() + " is already in your cart.");
+            }
         } catch (GameNotFoundException e) {
-            System.out.println("Game not found with ID: " + e.getMessage());
+            out.println("Game not found with ID: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println("Error adding game to cart: " + e.getMessage());
+            out.println("Error adding game to cart: " + e.getMessage());
         }
     }
 
     private void placeOrder() {
         if (currentUser == null) {
-            System.out.println("Please log in first.");
+            out.println("Please log in first.");
             return;
         }
         try {
-            orderManagement.placeOrder(currentUser.getUserId());
-            System.out.println("Order placed for user " + currentUser.getUsername());
+            orderManagement.get().placeOrder(currentUser.getUserId());
+            out.println("Order placed for user " + currentUser.getUsername());
         } catch (CartEmptyException e) {
-            System.out.println("Cart is empty: " + e.getMessage());
+            out.println("Cart is empty: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println("Error placing order: " + e.getMessage());
+            out.println("Error placing order: " + e.getMessage());
         }
     }
 
     private void createTransaction() {
         try {
-            System.out.print("Enter User ID: ");
+            out.print("Enter User ID: ");
             int userId = scanner.nextInt();
             scanner.nextLine(); // Consume newline
-            System.out.print("Enter Game ID: ");
+            out.print("Enter Game ID: ");
             int gameId = scanner.nextInt();
             scanner.nextLine(); // Consume newline
-            System.out.print("Enter Transaction Type: ");
+            out.print("Enter Transaction Type: ");
             String transactionType = scanner.nextLine();
-            System.out.print("Enter Amount: ");
+            out.print("Enter Amount: ");
             Float amount = scanner.nextFloat();
             scanner.nextLine(); // Consume newline
 
-            transactionManagement.addTransaction(new Transaction(3, userId, gameId, transactionType, amount, java.time.LocalDateTime.now()));
-            System.out.println("Transaction created");
+            transactionManagement.get().addTransaction(new Transaction(3, userId, gameId, transactionType, amount, java.time.LocalDateTime.now()));
+            out.println("Transaction created");
         } catch (Exception e) {
-            System.out.println("Error creating Transaction: " + e.getMessage());
+            out.println("Error creating Transaction: " + e.getMessage());
         }
     }
 
     private void listGames() {
         try {
-            List<Game> games = gameManagement.getAllGames();
-            System.out.println("\n--- Game List ---");
+            out.println("\n--- Game List ---");
+            List<String> columnNames = Arrays.asList("gameId", "title", "developer", "platform", "price", "description");
+            // Stream the catalog straight to the output instead of copying it first
+            Util.printTable(gameManagement.get().streamGames(), columnNames, out);
+        } catch (Exception e) {
+            out.println("Error listing games: " + e.getMessage());
+        }
+    }
+
+    private void searchGames() {
+        try {
+            out.print("Enter search terms: ");
+            String query = scanner.nextLine();
+            List<Game> games = gameManagement.get().search(query, 10);
+            out.println("\n--- Search Results ---");
+            List<String> columnNames = Arrays.asList("gameId", "title", "developer", "platform", "price", "description");
+            Util.printTable(games, columnNames, out);
+        } catch (Exception e) {
+            out.println("Error searching games: " + e.getMessage());
+        }
+    }
+
+    private void viewStats() {
+        out.println("\n--- Operation Stats (latencies in microseconds) ---");
+        List<String> columnNames = Arrays.asList("operation", "calls", "mean", "p50", "p99", "p999", "max");
+        Util.printTable(Metrics.snapshot(), columnNames, out);
+        List<CacheStats> caches = Metrics.cacheSnapshot();
+        if (!caches.isEmpty()) {
+            out.println("\n--- Cache Stats ---");
+            Util.printTable(caches, Arrays.asList("cache", "hits", "misses", "hitRate", "evictions", "size"), out);
+        }
+        out.println("\n--- Startup (milliseconds since the process started) ---");
+        Util.printTable(StartupTimeline.snapshot(), Arrays.asList("phase", "thread", "startMs", "durationMs", "detail"), out);
+    }
+
+    private void reports() {
+        if (analytics == null) {
+            out.println("Reports are not available.");
+            return;
+        }
+        try {
+            RevenueAnalytics reports = analytics.get();
+            List<String> columnNames = Arrays.asList("name", "sales", "revenue");
+            while (true) {
+                out.println("\n--- Reports ---");
+                out.println("1. Dashboard");
+                out.println("2. Top Games");
+                out.println("3. Revenue by Developer");
+                out.println("4. Revenue by Platform");
+                out.println("5. Revenue by Day");
+                out.println("0. Back");
+                out.print("Enter your choice: ");
+                int choice = scanner.nextInt();
+                scanner.nextLine(); // Consume newline
+                switch (choice) {
+                    case 1:
+                        MaterializedTotals totals = reports.getTotals();
+                        out.println("\n--- Dashboard ---");
+                        out.printf("Revenue: %.2f (today: %.2f)%n", totals.getRevenueCents() / 100.0, totals.getRevenueCentsToday() / 100.0);
+                        out.println("Items sold: " + totals.getUnitsSold() + ", orders: " + totals.getOrderCount() + ", transactions: " + totals.getTransactionCount());
+                        Util.printTable(totals.platformRows(), columnNames, out);
+                        break;
+                    case 2:
+                        out.print("How many games: ");
+                        int k = scanner.nextInt();
+                        scanner.nextLine(); // Consume newline
+                        out.println("\n--- Top Games ---");
+                        Util.printTable(reports.topGames(k), columnNames, out);
+                        break;
+                    case 3:
+                        out.println("\n--- Revenue by Developer ---");
+                        Util.printTable(reports.revenueByDeveloper(), columnNames, out);
+                        break;
+                    case 4:
+                        out.println("\n--- Revenue by Platform ---");
+                        Util.printTable(reports.revenueByPlatform(), columnNames, out);
+                        break;
+                    case 5:
+                        out.println("\n--- Revenue by Day (UTC) ---");
+                        Util.printTable(reports.revenueByDay(), columnNames, out);
+                        break;
+                    case 0:
+                        return;
+                    default:
+                        out.println("Invalid choice. Please try again.");
+                }
+            }
+        } catch (InputMismatchException e) {
+            out.println("Invalid input. Please enter a number.");
+            scanner.nextLine(); // Clear the invalid input
+        } catch (NoSuchElementException e) {
+            throw e; // Input closed; the main loop ends the session
+        } catch (Exception e) {
+            out.println("Error showing reports: " + e.getMessage());
+        }
+    }
+
+    private void filterGames() {
+        try {
+            out.print("Enter platform (blank for any): ");
+            String platform = scanner.nextLine().trim();
+            out.print("Enter developer (blank for any): ");
+            String developer = scanner.nextLine().trim();
+            out.print("Enter minimum price (blank for none): ");
+            String minPrice = scanner.nextLine().trim();
+            out.print("Enter maximum price (blank for none): ");
+            String maxPrice = scanner.nextLine().trim();
+
+            CatalogQuery query = new CatalogQuery(
+                    platform.isEmpty() ? null : platform,
+                    developer.isEmpty() ? null : developer,
+                    minPrice.isEmpty() ? null : Float.parseFloat(minPrice),
+                    maxPrice.isEmpty() ? null : Float.parseFloat(maxPrice),
+                    50);
+            CatalogQueryResult result = gameManagement.get().queryCatalog(query);
+            out.println("\n--- Filtered Games (" + result.getTotalMatches() + " matches) ---");
+            out.println("Platforms: " + result.getPlatformCounts());
+            out.println("Developers: " + result.getDeveloperCounts());
             List<String> columnNames = Arrays.asList("gameId", "title", "developer", "platform", "price", "description");
-            Util.printTable(games, columnNames);
+            Util.printTable(result.getGames(), columnNames, out);
+        } catch (NumberFormatException e) {
+            out.println("Invalid price: " + e.getMessage());
         } catch (Exception e) {
-            System.out.println("Error listing games: " + e.getMessage());
+            out.println("Error filtering games: " + e.getMessage());
         }
     }
 
     private void listUsers() {
         try {
-            List<User> users = userManagement.getAllUsers();
-            System.out.println("\n--- User List ---");
+            List<User> users = userManagement.get().getAllUsers();
+            out.println("\n--- User List ---");
             List<String> columnNames = Arrays.asList("userId", "username", "email", "walletBalance");
-            Util.printTable(users, columnNames);
+            Util.printTable(users, columnNames, out);
         } catch (Exception e) {
-            System.out.println("Error listing users: " + e.getMessage());
+            out.println("Error listing users: " + e.getMessage());
         }
     }
 
     private void viewOrders() {
         if (currentUser == null) {
-            System.out.println("Please log in first.");
+            out.println("Please log in first.");
             return;
         }
 
         try {
-            List<Order> allOrders = orderManagement.getAllOrders();
-            System.out.println("\n--- Orders List ---");
+            List<Order> userOrders = orderManagement.get().getOrdersForUser(currentUser.getUserId());
+            out.println("\n--- Orders List ---");
 
             List<String> columnNames = Arrays.asList("orderId", "userId", "totalAmount", "orderDate");
-            List<Order> userOrders = new ArrayList<>();
-
-            for (Order order : allOrders) {
-                if (order.getUserId() == currentUser.getUserId()) {
-                    userOrders.add(order);
-                }
-            }
-            Util.printTable(userOrders, columnNames);
+            Util.printTable(userOrders, columnNames, out);
 
         } catch (Exception e) {
-            System.out.println("Error viewing orders: " + e.getMessage());
+            out.println("Error viewing orders: " + e.getMessage());
         }
     }
 
     private void viewTransactions() {
         if (currentUser == null) {
-            System.out.println("Please log in first.");
+            out.println("Please log in first.");
             return;
         }
         try {
-            List<Transaction> allTransactions = transactionManagement.getAllTransactions();
-            System.out.println("\n--- Transactions List ---");
+            List<Transaction> userTransactions = transactionManagement.get().getTransactionsForUser(currentUser.getUserId());
+            out.println("\n--- Transactions List ---");
             List<String> columnNames = Arrays.asList("transactionId", "userId", "gameId", "transactionType", "amount", "transactionDate");
-            List<Transaction> userTransactions = new ArrayList<>();
-
-            for (Transaction transaction : allTransactions) {
-                if (transaction.getUserId() == currentUser.getUserId()) {
-                    userTransactions.add(transaction);
-                }
-            }
-            Util.printTable(userTransactions, columnNames);
+            Util.printTable(userTransactions, columnNames, out);
 
         } catch (Exception e) {
-            System.out.println("Error viewing transactions: " + e.getMessage());
+            out.println("Error viewing transactions: " + e.getMessage());
         }
     }
 
     private void login() {
         try {
-            System.out.print("Enter User ID to login: ");
+            out.print("Enter User ID to login: ");
             int userId = scanner.nextInt();
             scanner.nextLine(); // Consume newline
 
-            User user = vaultManager.login(userId); // Use the login method in GameVaultManager
+            User user = vaultManager.get().login(userId); // Use the login method in GameVaultManager
             if (user != null) {
                 currentUser = user;
-                System.out.println("Logged in as: " + user.getUsername());
+                out.println("Logged in as: " + user.getUsername());
             } else {
-                System.out.println("Invalid User ID.");
+                out.println("Invalid User ID.");
             }
         } catch (InputMismatchException e) {
-            System.out.println("Invalid input. Please enter a number.");
+            out.println("Invalid input. Please enter a number.");
             scanner.nextLine(); // Clear the invalid input
         } catch (UserNotFoundException e) {
-            System.out.println(e.getMessage()); // User not found message
+            out.println(e.getMessage()); // User not found message
         } catch (Exception e) {
-            System.out.println("An unexpected error occurred: " + e.getMessage());
+            out.println("An unexpected error occurred: " + e.getMessage());
         }
     }
 
     private void logout() {
-        vaultManager.logout();
         currentUser = null;
-        System.out.println("Logged out.");
+        out.println("Logged out.");
     }
 }
\ No newline at end of file
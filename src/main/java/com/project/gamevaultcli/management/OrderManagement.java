@@ -7,60 +7,140 @@ package com.project.gamevaultcli.management;
 import com.project.gamevaultcli.entities.Cart;
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.OrderLineItems;
 import com.project.gamevaultcli.entities.User;
 import com.project.gamevaultcli.exceptions.CartEmptyException;
 import com.project.gamevaultcli.exceptions.OrderNotFoundException;
+import com.project.gamevaultcli.interfaces.Durability;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.metrics.OperationTimer;
 import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.storage.GameStorage;
 import com.project.gamevaultcli.storage.OrderStorage;
 import com.project.gamevaultcli.storage.UserStorage;
+import com.project.gamevaultcli.utils.StripedLock;
 
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
 
 public class OrderManagement {
 
+    private static final OperationTimer GET_ORDER = Metrics.timer("OrderManagement.getOrder");
+    private static final OperationTimer GET_ALL_ORDERS = Metrics.timer("OrderManagement.getAllOrders");
+    private static final OperationTimer GET_ORDERS_FOR_USER = Metrics.timer("OrderManagement.getOrdersForUser");
+    private static final OperationTimer FIND_ORDERS = Metrics.timer("OrderManagement.findOrders");
+    private static final OperationTimer PLACE_ORDER = Metrics.timer("OrderManagement.placeOrder");
+
     private final OrderStorage orderStorage;
     private final CartStorage cartStorage;
     private final UserStorage userStorage;
+    private final GameStorage gameStorage;
+    private final StripedLock userLocks;
+    private volatile Durability durability = Durability.NONE;
 
-    public OrderManagement(OrderStorage orderStorage, CartStorage cartStorage, UserStorage userStorage) {
+    public OrderManagement(OrderStorage orderStorage, CartStorage cartStorage, UserStorage userStorage, GameStorage gameStorage, StripedLock userLocks) {
         this.orderStorage = orderStorage;
         this.cartStorage = cartStorage;
         this.userStorage = userStorage;
+        this.gameStorage = gameStorage;
+        this.userLocks = userLocks;
+    }
+
+    /**
+     * Makes placeOrder return only once the checkout is on disk, e.g. the write-ahead log.
+     */
+    public void setDurability(Durability durability) {
+        this.durability = durability;
     }
 
     public Order getOrder(int orderId) throws OrderNotFoundException {
-        Order order = orderStorage.findById(orderId);
-        if (order == null) {
-            throw new OrderNotFoundException(orderId);
+        long start = System.nanoTime();
+        try {
+            Order order = orderStorage.findById(orderId);
+            if (order == null) {
+                throw new OrderNotFoundException(orderId);
+            }
+            return order;
+        } finally {
+            GET_ORDER.record(start);
         }
-        return order;
     }
 
     public List<Order> getAllOrders() {
-        return orderStorage.findAll();
+        long start = System.nanoTime();
+        try {
+            return orderStorage.findAll();
+        } finally {
+            GET_ALL_ORDERS.record(start);
+        }
     }
 
-    public void placeOrder(int userId) throws CartEmptyException {
-        Cart cart = cartStorage.findById(userId);
-        if (cart == null || cart.getGames().isEmpty()) {
-            throw new CartEmptyException("Cart is empty for user: " + userId);
+    public List<Order> getOrdersForUser(int userId) {
+        long start = System.nanoTime();
+        try {
+            return orderStorage.findByUserId(userId);
+        } finally {
+            GET_ORDERS_FOR_USER.record(start);
         }
+    }
+
+    public List<Order> findOrders(Predicate<? super Order> filter) {
+        long start = System.nanoTime();
+        try {
+            return orderStorage.findWhere(filter);
+        } finally {
+            FIND_ORDERS.record(start);
+        }
+    }
+
+    /**
+     * Checks out the user's cart as one step: the order, the emptied cart and the wallet debit
+     * happen under the user's lock stripe, so concurrent checkouts for the same user cannot
+     * double-order or lose a debit, while different users proceed in parallel. Waiting for the
+     * checkout to be durable happens after the lock is released, so it does not hold up others.
+     */
+    public void placeOrder(int userId) throws CartEmptyException {
+        long start = System.nanoTime();
+        try {
+            Lock lock = userLocks.forKey(userId);
+            lock.lock();
+            try {
+                Cart cart = cartStorage.findById(userId);
+                if (cart == null || cart.isEmpty()) {
+                    throw new CartEmptyException("Cart is empty for user: " + userId);
+                }
 
-        List<Game> games = cart.getGames();
-        double totalAmount = games.stream().mapToDouble(Game::getPrice).sum();
+                // The order keeps its own snapshot of the games, at the prices they were added to the cart for
+                int[] gameIds = cart.getGameIds();
+                int[] priceCents = new int[gameIds.length];
+                String[] titles = new String[gameIds.length];
+                for (int i = 0; i < gameIds.length; i++) {
+                    priceCents[i] = cart.getPriceCents(gameIds[i]);
+                    Game game = gameStorage.findById(gameIds[i]);
+                    titles[i] = game == null ? null : game.getTitle();
+                }
+                double totalAmount = cart.getTotalCents() / 100.0;
 
-        Order order = new Order(userId, games, totalAmount);
-        orderStorage.save(order);
+                Order order = new Order(userId, OrderLineItems.of(gameIds, priceCents, titles), totalAmount);
+                orderStorage.save(order);
 
-        // Clear the cart after placing the order
-        cart.getGames().clear();
-        cartStorage.update(cart);
+                // Clear the cart after placing the order
+                cart.clear();
+                cartStorage.update(cart);
 
-        //Potentially manage user wallet balance
-        User user = userStorage.findById(userId);
-        if (user != null) {
-            user.setWalletBalance((float) (user.getWalletBalance() - totalAmount));
-            userStorage.update(user);
+                //Potentially manage user wallet balance
+                User user = userStorage.findById(userId);
+                if (user != null) {
+                    user.setWalletBalance((float) (user.getWalletBalance() - totalAmount));
+                    userStorage.update(user);
+                }
+            } finally {
+                lock.unlock();
+            }
+            durability.awaitDurable();
+        } finally {
+            PLACE_ORDER.record(start);
         }
     }
 }
@@ -5,12 +5,21 @@
 package com.project.gamevaultcli.management;
 
 import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.metrics.OperationTimer;
 import com.project.gamevaultcli.storage.TransactionStorage;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public class TransactionManagement {
 
+    private static final OperationTimer GET_TRANSACTION = Metrics.timer("TransactionManagement.getTransaction");
+    private static final OperationTimer GET_ALL_TRANSACTIONS = Metrics.timer("TransactionManagement.getAllTransactions");
+    private static final OperationTimer GET_TRANSACTIONS_FOR_USER = Metrics.timer("TransactionManagement.getTransactionsForUser");
+    private static final OperationTimer FIND_TRANSACTIONS = Metrics.timer("TransactionManagement.findTransactions");
+    private static final OperationTimer ADD_TRANSACTION = Metrics.timer("TransactionManagement.addTransaction");
+
     private final TransactionStorage transactionStorage;
 
     public TransactionManagement(TransactionStorage transactionStorage) {
@@ -18,14 +27,47 @@ public class TransactionManagement {
     }
 
     public Transaction getTransaction(int transactionId) {
-        return transactionStorage.findById(transactionId);
+        long start = System.nanoTime();
+        try {
+            return transactionStorage.findById(transactionId);
+        } finally {
+            GET_TRANSACTION.record(start);
+        }
     }
 
     public List<Transaction> getAllTransactions() {
-        return transactionStorage.findAll();
+        long start = System.nanoTime();
+        try {
+            return transactionStorage.findAll();
+        } finally {
+            GET_ALL_TRANSACTIONS.record(start);
+        }
+    }
+
+    public List<Transaction> getTransactionsForUser(int userId) {
+        long start = System.nanoTime();
+        try {
+            return transactionStorage.findByUserId(userId);
+        } finally {
+            GET_TRANSACTIONS_FOR_USER.record(start);
+        }
+    }
+
+    public List<Transaction> findTransactions(Predicate<? super Transaction> filter) {
+        long start = System.nanoTime();
+        try {
+            return transactionStorage.findWhere(filter);
+        } finally {
+            FIND_TRANSACTIONS.record(start);
+        }
     }
 
     public void addTransaction(Transaction transaction) {
-        transactionStorage.save(transaction);
+        long start = System.nanoTime();
+        try {
+            transactionStorage.save(transaction);
+        } finally {
+            ADD_TRANSACTION.record(start);
+        }
     }
 }
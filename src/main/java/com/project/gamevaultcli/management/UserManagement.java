@@ -7,43 +7,98 @@ package com.project.gamevaultcli.management;
 import com.project.gamevaultcli.entities.User;
 import com.project.gamevaultcli.exceptions.InvalidUserDataException;
 import com.project.gamevaultcli.exceptions.UserNotFoundException;
+import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.metrics.OperationTimer;
 import com.project.gamevaultcli.storage.UserStorage;
 
 import java.util.List;
 
 public class UserManagement {
 
+    private static final OperationTimer GET_USER = Metrics.timer("UserManagement.getUser");
+    private static final OperationTimer GET_ALL_USERS = Metrics.timer("UserManagement.getAllUsers");
+    private static final OperationTimer ADD_USER = Metrics.timer("UserManagement.addUser");
+    private static final OperationTimer ADD_USERS = Metrics.timer("UserManagement.addUsers");
+    private static final OperationTimer UPDATE_USER = Metrics.timer("UserManagement.updateUser");
+    private static final OperationTimer DELETE_USER = Metrics.timer("UserManagement.deleteUser");
+
     private final UserStorage userStorage;
+    private final StorageInterface<User, Integer> userLookup; // Point lookups and single writes, possibly through a cache
 
     public UserManagement(UserStorage userStorage) {
+        this(userStorage, userStorage);
+    }
+
+    public UserManagement(UserStorage userStorage, StorageInterface<User, Integer> userLookup) {
         this.userStorage = userStorage;
+        this.userLookup = userLookup;
     }
 
     public User getUser(int userId) throws UserNotFoundException {
-        User user = userStorage.findById(userId);
-        if (user == null) {
-            throw new UserNotFoundException("User not found with ID: " + userId);
+        long start = System.nanoTime();
+        try {
+            User user = userLookup.findById(userId);
+            if (user == null) {
+                throw new UserNotFoundException("User not found with ID: " + userId);
+            }
+            return user;
+        } finally {
+            GET_USER.record(start);
         }
-        return user;
     }
 
     public List<User> getAllUsers() {
-        return userStorage.findAll();
+        long start = System.nanoTime();
+        try {
+            return userStorage.findAll();
+        } finally {
+            GET_ALL_USERS.record(start);
+        }
     }
 
     public void addUser(User user) throws InvalidUserDataException {
+        long start = System.nanoTime();
+        try {
+            validateUser(user);
+            userLookup.save(user);
+        } finally {
+            ADD_USER.record(start);
+        }
+    }
+
+    // Inserts users that have already been through validateUser, e.g. by the bulk importer
+    public void addUsers(List<User> users) {
+        long start = System.nanoTime();
+        try {
+            userStorage.saveAll(users);
+        } finally {
+            ADD_USERS.record(start);
+        }
+    }
+
+    public static void validateUser(User user) throws InvalidUserDataException {
         // Basic validation
         if (user.getUsername() == null || user.getUsername().isEmpty()) {
             throw new InvalidUserDataException("username", "Username cannot be empty");
         }
-        userStorage.save(user);
     }
 
     public void updateUser(User user) {
-        userStorage.update(user);
+        long start = System.nanoTime();
+        try {
+            userLookup.update(user);
+        } finally {
+            UPDATE_USER.record(start);
+        }
     }
 
     public void deleteUser(int userId) {
-        userStorage.delete(userId);
+        long start = System.nanoTime();
+        try {
+            userLookup.delete(userId);
+        } finally {
+            DELETE_USER.record(start);
+        }
     }
 }
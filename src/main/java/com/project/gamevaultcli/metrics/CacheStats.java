@@ -0,0 +1,49 @@
+package com.project.gamevaultcli.metrics;
+
+import java.util.Locale;
+
+/**
+ * Point-in-time hit and miss counts of one cache, laid out for printTable.
+ */
+public class CacheStats {
+
+    private final String cache;
+    private final long hits;
+    private final long misses;
+    private final String hitRate;
+    private final long evictions;
+    private final long size;
+
+    public CacheStats(String cache, long hits, long misses, long evictions, long size) {
+        this.cache = cache;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hits + misses == 0 ? "-" : String.format(Locale.ROOT, "%.1f%%", 100.0 * hits / (hits + misses));
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public String getCache() {
+        return cache;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public String getHitRate() {
+        return hitRate;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
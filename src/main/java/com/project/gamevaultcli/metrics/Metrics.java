@@ -0,0 +1,53 @@
+package com.project.gamevaultcli.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of operation timers, keyed by name such as {@code "GameManagement.getGame"}.
+ * Timers are looked up once, typically into a static field, so recording never touches the registry.
+ * Caches register a source of their stats under their own name.
+ */
+public final class Metrics {
+
+    private static final Map<String, OperationTimer> TIMERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Supplier<CacheStats>> CACHES = new ConcurrentSkipListMap<>();
+
+    private Metrics() {}
+
+    public static OperationTimer timer(String name) {
+        return TIMERS.computeIfAbsent(name, OperationTimer::new);
+    }
+
+    /**
+     * Stats for every timer that has been called, ordered by name.
+     */
+    public static List<OperationStats> snapshot() {
+        List<OperationStats> stats = new ArrayList<>();
+        for (OperationTimer timer : TIMERS.values()) {
+            if (timer.getLatencies().getCount() > 0) {
+                stats.add(new OperationStats(timer));
+            }
+        }
+        return stats;
+    }
+
+    // A later cache with the same name replaces the earlier one
+    public static void registerCache(String name, Supplier<CacheStats> stats) {
+        CACHES.put(name, stats);
+    }
+
+    /**
+     * Stats for every registered cache, ordered by name.
+     */
+    public static List<CacheStats> cacheSnapshot() {
+        List<CacheStats> stats = new ArrayList<>();
+        for (Supplier<CacheStats> cache : CACHES.values()) {
+            stats.add(cache.get());
+        }
+        return stats;
+    }
+}
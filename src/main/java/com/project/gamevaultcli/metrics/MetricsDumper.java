@@ -0,0 +1,71 @@
+package com.project.gamevaultcli.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends the current stats to a file at a fixed interval, one JSON object per line:
+ * {@code {"time":"...","operations":[{"operation":"...","calls":1,"meanUs":1.0,...}]}}.
+ * Stats are cumulative since start-up.
+ */
+public class MetricsDumper {
+
+    private final Path file;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gamevault-metrics-dump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MetricsDumper(Path file) {
+        this.file = file;
+    }
+
+    public void start(long intervalSeconds) {
+        scheduler.scheduleAtFixedRate(this::dumpQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        scheduler.shutdown();
+    }
+
+    public synchronized void dump() throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        line.append("{\"time\":\"").append(Instant.now()).append("\",\"operations\":[");
+        boolean first = true;
+        for (OperationStats stats : Metrics.snapshot()) {
+            if (!first) {
+                line.append(',');
+            }
+            first = false;
+            line.append("{\"operation\":\"").append(stats.getOperation())
+                    .append("\",\"calls\":").append(stats.getCalls())
+                    .append(",\"meanUs\":").append(stats.getMean())
+                    .append(",\"p50Us\":").append(stats.getP50())
+                    .append(",\"p99Us\":").append(stats.getP99())
+                    .append(",\"p999Us\":").append(stats.getP999())
+                    .append(",\"maxUs\":").append(stats.getMax())
+                    .append('}');
+        }
+        line.append("]}\n");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line.toString());
+        }
+    }
+
+    private void dumpQuietly() {
+        try {
+            dump();
+        } catch (IOException e) {
+            System.err.println("Error writing metrics to " + file + ": " + e.getMessage());
+        }
+    }
+}
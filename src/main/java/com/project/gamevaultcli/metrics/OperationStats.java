@@ -0,0 +1,60 @@
+package com.project.gamevaultcli.metrics;
+
+import java.util.Locale;
+
+/**
+ * Point-in-time summary of one timer, with latencies in microseconds, laid out for printTable.
+ */
+public class OperationStats {
+
+    private final String operation;
+    private final long calls;
+    private final String mean;
+    private final String p50;
+    private final String p99;
+    private final String p999;
+    private final String max;
+
+    OperationStats(OperationTimer timer) {
+        LatencyHistogram latencies = timer.getLatencies();
+        this.operation = timer.getName();
+        this.calls = latencies.getCount();
+        this.mean = micros(latencies.getMean());
+        this.p50 = micros(latencies.valueAtPercentile(50));
+        this.p99 = micros(latencies.valueAtPercentile(99));
+        this.p999 = micros(latencies.valueAtPercentile(99.9));
+        this.max = micros(latencies.getMax());
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public String getMean() {
+        return mean;
+    }
+
+    public String getP50() {
+        return p50;
+    }
+
+    public String getP99() {
+        return p99;
+    }
+
+    public String getP999() {
+        return p999;
+    }
+
+    public String getMax() {
+        return max;
+    }
+
+    private static String micros(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.gamevaultcli.metrics;
+
+/**
+ * Call count and latency of one operation. Callers take {@code System.nanoTime()} on entry
+ * and pass it to {@link #record(long)} on exit.
+ */
+public class OperationTimer {
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    OperationTimer(String name) {
+        this.name = name;
+    }
+
+    public void record(long startNanos) {
+        latencies.record(System.nanoTime() - startNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+}
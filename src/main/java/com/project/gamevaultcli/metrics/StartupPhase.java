@@ -0,0 +1,41 @@
+package com.project.gamevaultcli.metrics;
+
+/**
+ * One timed step of start-up, with milliseconds counted from the start of the process, laid out for printTable.
+ */
+public class StartupPhase {
+
+    private final String phase;
+    private final String thread;
+    private final long startMs;
+    private final long durationMs;
+    private final String detail;
+
+    StartupPhase(String phase, String thread, long startMs, long durationMs, String detail) {
+        this.phase = phase;
+        this.thread = thread;
+        this.startMs = startMs;
+        this.durationMs = durationMs;
+        this.detail = detail;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public long getStartMs() {
+        return startMs;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.gamevaultcli.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide record of where start-up time goes: opening storages, replaying the log,
+ * building managements and so on, each with the thread it ran on. Subsystems that are
+ * created lazily show up whenever they are first used, which may be long after the prompt.
+ */
+public final class StartupTimeline {
+
+    // Process start on the nanoTime clock, so phases line up with the JVM's own boot time
+    private static final long ORIGIN = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+    private static final ConcurrentLinkedQueue<StartupPhase> PHASES = new ConcurrentLinkedQueue<>();
+
+    private StartupTimeline() {}
+
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    public static void record(String phase, long startNanos) {
+        record(phase, startNanos, "");
+    }
+
+    public static void record(String phase, long startNanos, String detail) {
+        long now = System.nanoTime();
+        PHASES.add(new StartupPhase(phase, Thread.currentThread().getName(), millis(startNanos - ORIGIN), millis(now - startNanos), detail));
+    }
+
+    public static <T> T time(String phase, Supplier<T> step) {
+        long start = begin();
+        T result = step.get();
+        record(phase, start);
+        return result;
+    }
+
+    /**
+     * Every recorded phase in the order it started.
+     */
+    public static List<StartupPhase> snapshot() {
+        List<StartupPhase> phases = new ArrayList<>(PHASES);
+        phases.sort(Comparator.comparingLong(StartupPhase::getStartMs));
+        return phases;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
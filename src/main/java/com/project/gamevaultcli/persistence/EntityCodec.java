@@ -0,0 +1,13 @@
+package com.project.gamevaultcli.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary encoding of one entity type, used by the write-ahead log.
+ */
+public interface EntityCodec<T> {
+    void write(DataOutput out, T entity) throws IOException;
+    T read(DataInput in) throws IOException;
+}
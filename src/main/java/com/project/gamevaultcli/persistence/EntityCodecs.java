@@ -0,0 +1,215 @@
+package com.project.gamevaultcli.persistence;
+
+import com.project.gamevaultcli.entities.Cart;
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.OrderLineItems;
+import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.entities.User;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Codecs for every entity. Nullable values are prefixed with a presence flag.
+ */
+public final class EntityCodecs {
+
+    private EntityCodecs() {}
+
+    public static final EntityCodec<User> USER = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, User user) throws IOException {
+            out.writeInt(user.getUserId());
+            writeString(out, user.getEmail());
+            writeString(out, user.getPassword());
+            writeString(out, user.getUsername());
+            out.writeFloat(user.getWalletBalance());
+            writeDate(out, user.getCreatedAt());
+        }
+
+        @Override
+        public User read(DataInput in) throws IOException {
+            return new User(in.readInt(), readString(in), readString(in), readString(in), in.readFloat(), readDate(in));
+        }
+    };
+
+    public static final EntityCodec<Game> GAME = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Game game) throws IOException {
+            out.writeInt(game.getGameId());
+            writeString(out, game.getTitle());
+            writeString(out, game.getDescription());
+            writeString(out, game.getDeveloper());
+            writeString(out, game.getPlatform());
+            out.writeFloat(game.getPrice());
+            writeDate(out, game.getReleaseDate());
+        }
+
+        @Override
+        public Game read(DataInput in) throws IOException {
+            return new Game(in.readInt(), readString(in), readString(in), readString(in), readString(in), in.readFloat(), readDate(in));
+        }
+    };
+
+    public static final EntityCodec<Cart> CART = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Cart cart) throws IOException {
+            out.writeInt(cart.getUserId());
+            // ~count marks the (gameId, price in cents) pairs; older logs hold a plain count and whole games
+            int[] gameIds = cart.getGameIds();
+            out.writeInt(~gameIds.length);
+            for (int gameId : gameIds) {
+                out.writeInt(gameId);
+                out.writeInt(cart.getPriceCents(gameId));
+            }
+        }
+
+        @Override
+        public Cart read(DataInput in) throws IOException {
+            int userId = in.readInt();
+            int count = in.readInt();
+            if (count >= 0) {
+                return new Cart(userId, readGames(in, count));
+            }
+            Cart cart = new Cart(userId);
+            for (int i = 0; i < ~count; i++) {
+                cart.addGame(in.readInt(), in.readInt());
+            }
+            return cart;
+        }
+    };
+
+    public static final EntityCodec<Order> ORDER = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Order order) throws IOException {
+            out.writeInt(order.getOrderId());
+            out.writeInt(order.getUserId());
+            writeLineItems(out, order.getItems());
+            out.writeDouble(order.getTotalAmount());
+            writeDate(out, order.getOrderDate());
+        }
+
+        @Override
+        public Order read(DataInput in) throws IOException {
+            return new Order(in.readInt(), in.readInt(), readLineItems(in), in.readDouble(), readDate(in));
+        }
+    };
+
+    public static final EntityCodec<Transaction> TRANSACTION = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, Transaction transaction) throws IOException {
+            out.writeInt(transaction.getTransactionId());
+            writeInteger(out, transaction.getUserId());
+            writeInteger(out, transaction.getGameId());
+            writeString(out, transaction.getTransactionType());
+            out.writeBoolean(transaction.getAmount() != null);
+            if (transaction.getAmount() != null) {
+                out.writeFloat(transaction.getAmount());
+            }
+            LocalDateTime date = transaction.getTransactionDate();
+            out.writeBoolean(date != null);
+            if (date != null) {
+                out.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(date.getNano());
+            }
+        }
+
+        @Override
+        public Transaction read(DataInput in) throws IOException {
+            int transactionId = in.readInt();
+            Integer userId = readInteger(in);
+            Integer gameId = readInteger(in);
+            String transactionType = readString(in);
+            Float amount = in.readBoolean() ? in.readFloat() : null;
+            LocalDateTime date = in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+            return new Transaction(transactionId, userId, gameId, transactionType, amount, date);
+        }
+    };
+
+    // Length-prefixed UTF-8, so long descriptions are not capped like writeUTF
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutput out, Date date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            out.writeLong(date.getTime());
+        }
+    }
+
+    private static Date readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? new Date(in.readLong()) : null;
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static List<Game> readGames(DataInput in, int count) throws IOException {
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            games.add(GAME.read(in));
+        }
+        return games;
+    }
+
+    // The count is written as ~count, so logs from before line items (a plain count and whole games) still read
+    private static void writeLineItems(DataOutput out, OrderLineItems items) throws IOException {
+        int count = items == null ? 0 : items.size();
+        out.writeInt(~count);
+        for (int i = 0; i < count; i++) {
+            out.writeInt(items.getGameId(i));
+            out.writeInt(items.getPriceCents(i));
+            writeString(out, items.getTitle(i));
+        }
+    }
+
+    private static OrderLineItems readLineItems(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count >= 0) {
+            return OrderLineItems.of(readGames(in, count));
+        }
+        count = ~count;
+        int[] gameIds = new int[count];
+        int[] priceCents = new int[count];
+        String[] titles = new String[count];
+        for (int i = 0; i < count; i++) {
+            gameIds[i] = in.readInt();
+            priceCents[i] = in.readInt();
+            titles[i] = readString(in);
+        }
+        return OrderLineItems.of(gameIds, priceCents, titles);
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.gamevaultcli.persistence;
+
+/**
+ * When the write-ahead log forces appended records to disk.
+ */
+public enum FsyncPolicy {
+    ALWAYS,   // force after every record
+    INTERVAL, // force at most once per configured interval, and within it once appends stop
+    NEVER,    // leave flushing to the operating system
+    GROUP     // queue records for a writer thread that forces them in groups, each within the configured interval
+}
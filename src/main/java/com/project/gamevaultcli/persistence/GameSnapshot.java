@@ -0,0 +1,171 @@
+package com.project.gamevaultcli.persistence;
+
+import com.project.gamevaultcli.entities.Game;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read-only binary snapshot of the game catalog, served straight from a memory mapping.
+ * <p>
+ * Layout: a header ({@code magic, version, count, stringsOffset}), then one fixed-width
+ * row per game sorted by ID ({@code gameId, price, releaseDate, titleOffset,
+ * descriptionOffset, developerOffset, platformOffset}), then the string area where each
+ * string is {@code [int length][UTF-8 bytes]}. A string offset of -1 means null, and a
+ * release date of {@link Long#MIN_VALUE} means no date. Opening a snapshot only maps the
+ * file; rows are decoded on demand, so opening does not depend on the catalog size.
+ */
+public final class GameSnapshot {
+
+    private static final int MAGIC = 0x47564753; // "GVGS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int ROW_SIZE = 32;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+
+    private GameSnapshot(MappedByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    public static GameSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Game snapshot " + file + " is larger than 2 GB");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a game snapshot");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported game snapshot version " + buffer.getInt(4));
+            }
+            return new GameSnapshot(buffer, buffer.getInt(8));
+        }
+    }
+
+    public static void write(Path file, Collection<Game> games) throws IOException {
+        List<Game> sorted = new ArrayList<>(games);
+        sorted.sort(Comparator.comparingInt(Game::getGameId));
+
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        DataOutputStream stringOut = new DataOutputStream(strings);
+        long stringsOffset = HEADER_SIZE + (long) ROW_SIZE * sorted.size();
+
+        try (OutputStream fileOut = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            out.writeLong(stringsOffset);
+            for (Game game : sorted) {
+                out.writeInt(game.getGameId());
+                out.writeFloat(game.getPrice());
+                out.writeLong(game.getReleaseDate() == null ? NO_DATE : game.getReleaseDate().getTime());
+                out.writeInt(appendString(stringOut, stringsOffset, game.getTitle()));
+                out.writeInt(appendString(stringOut, stringsOffset, game.getDescription()));
+                out.writeInt(appendString(stringOut, stringsOffset, game.getDeveloper()));
+                out.writeInt(appendString(stringOut, stringsOffset, game.getPlatform()));
+            }
+            strings.writeTo(out);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int idAt(int row) {
+        return buffer.getInt(rowOffset(row));
+    }
+
+    public int maxId() {
+        return count == 0 ? 0 : idAt(count - 1);
+    }
+
+    public boolean contains(int gameId) {
+        return findRow(gameId) >= 0;
+    }
+
+    public Game findById(int gameId) {
+        int row = findRow(gameId);
+        return row < 0 ? null : read(row);
+    }
+
+    /**
+     * Binary search over the ID column. Returns the row, or {@code -(insertion point) - 1} when absent.
+     */
+    public int findRow(int gameId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = idAt(mid);
+            if (id < gameId) {
+                low = mid + 1;
+            } else if (id > gameId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public Game read(int row) {
+        int offset = rowOffset(row);
+        long releaseDate = buffer.getLong(offset + 8);
+        return new Game(
+                buffer.getInt(offset),
+                readString(buffer.getInt(offset + 16)),
+                readString(buffer.getInt(offset + 20)),
+                readString(buffer.getInt(offset + 24)),
+                readString(buffer.getInt(offset + 28)),
+                buffer.getFloat(offset + 4),
+                releaseDate == NO_DATE ? null : new Date(releaseDate));
+    }
+
+    private int rowOffset(int row) {
+        return HEADER_SIZE + row * ROW_SIZE;
+    }
+
+    private String readString(int offset) {
+        if (offset < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int appendString(DataOutputStream strings, long stringsOffset, String value) throws IOException {
+        if (value == null) {
+            return -1;
+        }
+        long offset = stringsOffset + strings.size();
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("Game snapshot string area exceeds 2 GB");
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.writeInt(bytes.length);
+        strings.write(bytes);
+        return (int) offset;
+    }
+}
@@ -0,0 +1,638 @@
+package com.project.gamevaultcli.persistence;
+
+import com.project.gamevaultcli.events.ChangeType;
+import com.project.gamevaultcli.exceptions.PersistenceException;
+import com.project.gamevaultcli.interfaces.Durability;
+import com.project.gamevaultcli.metrics.StartupTimeline;
+import com.project.gamevaultcli.storage.ConcurrentStorage;
+import com.project.gamevaultcli.utils.BoundedMpscQueue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of every save/update/delete made through the registered storages.
+ * <p>
+ * Each record is {@code [int length][int crc32][payload]}, where the payload names the
+ * storage, the operation and its data. Replay stops at the first torn or corrupt record
+ * and truncates the file there. A checkpoint rewrites the log as a clear marker, the ID
+ * sequence, one put per resident entity and one delete per tombstone for every storage,
+ * so replay time is bounded by the data size rather than the history.
+ * <p>
+ * With {@link FsyncPolicy#GROUP} the mutating thread only encodes its record and queues it.
+ * A writer thread takes records off the queue for up to the fsync interval, keeps only the
+ * last record per entity, and appends and forces the group with one write and one fsync.
+ * Callers that need their changes on disk call {@link #awaitDurable()}; while anyone waits,
+ * the writer commits as soon as the queue is drained, so the next group gathers during the fsync. When the queue is
+ * full, mutating threads wait for the writer to make room.
+ * <p>
+ * With {@link FsyncPolicy#INTERVAL} an append forces the log once the interval has passed
+ * since the last force, and a daemon thread forces whatever is still unforced when appends
+ * stop, so no record stays off the disk much longer than the interval.
+ */
+public class WriteAheadLog implements Closeable, Durability {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 65536;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final byte OP_CLEAR = 3;
+    private static final byte OP_SEQUENCE = 4;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_GROUP_RECORDS = 4096;
+    private static final int REPLAY_READ_SIZE = 1 << 20;
+    private static final int REPLAY_BATCH = 1024;
+    private static final int MAX_REPLAY_IN_FLIGHT = 64 * REPLAY_BATCH; // Records read but not yet applied
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Path file;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final int checkpointEvery;
+    private final int queueCapacity;
+    private final Map<String, Registration<?>> registrations = new LinkedHashMap<>();
+
+    private FileChannel channel;
+    private long lastForceMillis;
+    private boolean unforced;
+    private int appendsSinceCheckpoint;
+
+    // Group commit: positions count records in queue order, so everything up to durablePosition is on disk
+    private volatile BoundedMpscQueue<Pending> queue;
+    private volatile Thread writer;
+    private ScheduledExecutorService intervalForcer;
+    private volatile boolean writerParked;
+    private volatile boolean closing;
+    private final AtomicInteger waiters = new AtomicInteger();
+    private volatile long durablePosition = -1;
+    private volatile PersistenceException failure;
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durableChanged = durableLock.newCondition();
+    private final ThreadLocal<long[]> lastQueued = ThreadLocal.withInitial(() -> new long[]{-1});
+
+    /**
+     * @param checkpointEvery number of appended records after which the log is compacted; 0 disables it
+     */
+    public WriteAheadLog(Path file, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis, int checkpointEvery) {
+        this(file, fsyncPolicy, fsyncIntervalMillis, checkpointEvery, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity records that may wait for the writer thread with {@link FsyncPolicy#GROUP}
+     */
+    public WriteAheadLog(Path file, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis, int checkpointEvery, int queueCapacity) {
+        this.file = file;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.checkpointEvery = checkpointEvery;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Starts logging the storage's mutations under the given name. Register every storage before {@link #open()}.
+     */
+    public synchronized <T> void register(String name, ConcurrentStorage<T> storage, EntityCodec<T> codec) {
+        Registration<T> registration = new Registration<>(name, registrations.size(), storage, codec);
+        registrations.put(name, registration);
+        // Synchronous, so the record is encoded before the caller can change the entity again
+        storage.changes().subscribe(event -> {
+            if (event.getType() == ChangeType.DELETE) {
+                append(registration, OP_DELETE, null, event.getId());
+            } else {
+                append(registration, OP_PUT, event.getAfter(), event.getId());
+            }
+        });
+    }
+
+    /**
+     * Replays the existing log into the registered storages and opens it for appending.
+     *
+     * @return the number of records replayed
+     */
+    public synchronized int open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int replayed = replay();
+        channel.position(channel.size());
+        lastForceMillis = System.currentTimeMillis();
+        if (fsyncPolicy == FsyncPolicy.GROUP) {
+            queue = new BoundedMpscQueue<>(queueCapacity);
+            Thread thread = new Thread(this::runWriter, "wal-writer");
+            thread.setDaemon(true);
+            writer = thread;
+            thread.start();
+        } else if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            intervalForcer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wal-interval-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            intervalForcer.scheduleWithFixedDelay(this::forceIfDue, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return replayed;
+    }
+
+    /**
+     * Rewrites the log so it only holds the current state of every registered storage.
+     */
+    public synchronized void checkpoint() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".checkpoint");
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Registration<?> registration : registrations.values()) {
+                writeSnapshot(target, registration);
+            }
+            target.force(true);
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        appendsSinceCheckpoint = 0;
+        unforced = false;
+    }
+
+    /**
+     * Blocks until every record this thread has logged is forced to disk. With a policy that
+     * forces lazily, forces the log now.
+     */
+    @Override
+    public void awaitDurable() {
+        if (fsyncPolicy != FsyncPolicy.GROUP) {
+            forceIfNeeded();
+            return;
+        }
+        long target = lastQueued.get()[0];
+        if (durablePosition >= target) {
+            return;
+        }
+        waiters.incrementAndGet();
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        durableLock.lock();
+        try {
+            while (durablePosition < target) {
+                checkFailure();
+                if (!writer.isAlive()) {
+                    throw new PersistenceException("Write-ahead log " + file + " closed before the write was durable", null);
+                }
+                durableChanged.awaitNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for write-ahead log " + file, e);
+        } finally {
+            durableLock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Commits whatever is still queued, then closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread thread = writer;
+        if (thread != null) {
+            closing = true;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (intervalForcer != null) {
+                intervalForcer.shutdownNow();
+            }
+            if (channel != null && channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        }
+    }
+
+    private <T> void append(Registration<T> registration, byte op, T entity, int id) {
+        if (queue != null) {
+            enqueue(registration, op, entity, id);
+        } else {
+            appendNow(registration, op, entity, id);
+        }
+    }
+
+    private synchronized <T> void appendNow(Registration<T> registration, byte op, T entity, int id) {
+        if (channel == null) {
+            return; // Not opened yet, so there is no log to append to
+        }
+        try {
+            writeRecord(channel, registration, op, entity, id);
+            unforced = true;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                force();
+            } else if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+                long now = System.currentTimeMillis();
+                if (now - lastForceMillis >= fsyncIntervalMillis) {
+                    force();
+                }
+            }
+            if (checkpointEvery > 0 && ++appendsSinceCheckpoint >= checkpointEvery) {
+                checkpoint();
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Could not append to write-ahead log " + file, e);
+        }
+    }
+
+    private synchronized void forceIfNeeded() {
+        if (channel == null || !unforced) {
+            return;
+        }
+        try {
+            force();
+        } catch (IOException e) {
+            throw new PersistenceException("Could not force write-ahead log " + file, e);
+        }
+    }
+
+    // Runs on the interval thread: forces records that no later append has forced
+    private synchronized void forceIfDue() {
+        if (channel == null || !channel.isOpen() || !unforced || System.currentTimeMillis() - lastForceMillis < fsyncIntervalMillis) {
+            return;
+        }
+        try {
+            force();
+        } catch (IOException e) {
+            System.err.println("Could not force write-ahead log " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void force() throws IOException {
+        channel.force(false);
+        lastForceMillis = System.currentTimeMillis();
+        unforced = false;
+    }
+
+    // Runs on the mutating thread: encode now, while the entity still holds this change
+    private <T> void enqueue(Registration<T> registration, byte op, T entity, int id) {
+        checkFailure();
+        if (closing) {
+            throw new PersistenceException("Write-ahead log " + file + " is closed", null);
+        }
+        Pending pending = new Pending(((long) registration.index << 32) | (id & 0xFFFFFFFFL), encode(registration, op, entity, id));
+        long position;
+        while ((position = queue.offer(pending)) < 0) {
+            // Backpressure: the writer is behind, so wait for it to make room
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            checkFailure();
+        }
+        lastQueued.get()[0] = position;
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void runWriter() {
+        Map<Long, byte[]> group = new LinkedHashMap<>();
+        long taken = 0;
+        long groupNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        try {
+            while (true) {
+                Pending first = queue.poll();
+                if (first == null) {
+                    if (closing && queue.isEmpty()) {
+                        return;
+                    }
+                    writerParked = true;
+                    if (queue.isEmpty() && !closing) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                    }
+                    writerParked = false;
+                    continue;
+                }
+                // Gather until the group is full, its oldest record has waited the interval, or a caller waits on it
+                long deadline = System.nanoTime() + groupNanos;
+                Pending pending = first;
+                int records = 0;
+                while (pending != null || (records < MAX_GROUP_RECORDS && System.nanoTime() < deadline && !closing)) {
+                    if (pending == null) {
+                        if (waiters.get() > 0) {
+                            break;
+                        }
+                        writerParked = true;
+                        LockSupport.parkNanos(Math.min(deadline - System.nanoTime(), BACKPRESSURE_PARK_NANOS));
+                        writerParked = false;
+                    } else {
+                        group.remove(pending.key); // The latest record for an entity goes last
+                        group.put(pending.key, pending.record);
+                        taken++;
+                        if (++records >= MAX_GROUP_RECORDS) {
+                            break;
+                        }
+                    }
+                    pending = queue.poll();
+                }
+                commit(group);
+                group.clear();
+                markDurable(taken - 1);
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = new PersistenceException("Could not append to write-ahead log " + file, e);
+            markDurable(durablePosition);
+        }
+    }
+
+    private synchronized void commit(Map<Long, byte[]> group) throws IOException {
+        int size = 0;
+        for (byte[] record : group.values()) {
+            size += record.length;
+        }
+        ByteBuffer batch = ByteBuffer.allocate(size);
+        for (byte[] record : group.values()) {
+            batch.put(record);
+        }
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        force();
+        appendsSinceCheckpoint += group.size();
+        if (checkpointEvery > 0 && appendsSinceCheckpoint >= checkpointEvery) {
+            checkpoint();
+        }
+    }
+
+    private void markDurable(long position) {
+        durableLock.lock();
+        try {
+            durablePosition = position;
+            durableChanged.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void checkFailure() {
+        PersistenceException e = failure;
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private <T> void writeSnapshot(FileChannel target, Registration<T> registration) throws IOException {
+        writeRecord(target, registration, OP_CLEAR, null, 0);
+        writeRecord(target, registration, OP_SEQUENCE, null, registration.storage.getSequence());
+        for (T entity : registration.storage.residentEntities()) {
+            writeRecord(target, registration, OP_PUT, entity, 0);
+        }
+        for (int id : registration.storage.tombstones()) {
+            writeRecord(target, registration, OP_DELETE, null, id);
+        }
+    }
+
+    private <T> void writeRecord(FileChannel target, Registration<T> registration, byte op, T entity, int id) throws IOException {
+        ByteBuffer record = ByteBuffer.wrap(encode(registration, op, entity, id));
+        while (record.hasRemaining()) {
+            target.write(record);
+        }
+    }
+
+    private static <T> byte[] encode(Registration<T> registration, byte op, T entity, int id) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(buffer);
+        try {
+            out.writeInt(0); // length, patched below
+            out.writeInt(0); // crc, patched below
+            out.writeUTF(registration.name);
+            out.writeByte(op);
+            if (op == OP_PUT) {
+                registration.codec.write(out, entity);
+            } else if (op != OP_CLEAR) {
+                out.writeInt(id);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new PersistenceException("Could not encode a write-ahead log record", e);
+        }
+
+        byte[] bytes = buffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        ByteBuffer record = ByteBuffer.wrap(bytes);
+        record.putInt(0, bytes.length - HEADER_SIZE);
+        record.putInt(4, (int) crc.getValue());
+        return bytes;
+    }
+
+    // Scans the log in order and hands each storage its records in batches, so independent storages load in parallel
+    private int replay() throws IOException {
+        long start = StartupTimeline.begin();
+        int threads = Math.max(1, Math.min(registrations.size(), Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "wal-replay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(MAX_REPLAY_IN_FLIGHT);
+        Map<Registration<?>, StorageReplay> replays = new HashMap<>();
+        DataInputStream log = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), REPLAY_READ_SIZE));
+        CRC32 crc = new CRC32();
+        long position = 0;
+        long size = channel.size();
+        int replayed = 0;
+        try {
+            while (position + HEADER_SIZE <= size) {
+                int length = log.readInt();
+                int checksum = log.readInt();
+                if (length <= 0 || position + HEADER_SIZE + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                log.readFully(payload);
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                position += HEADER_SIZE + length;
+                replayed++;
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                Registration<?> registration = registrations.get(record.readUTF());
+                if (registration != null) {
+                    inFlight.acquire();
+                    replays.computeIfAbsent(registration, key -> new StorageReplay(key, workers, inFlight)).add(record);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while replaying " + file, e);
+        } finally {
+            for (StorageReplay replay : replays.values()) {
+                replay.finish();
+            }
+        }
+        StartupTimeline.record("scan write-ahead log", start, replayed + " records");
+        try {
+            for (StorageReplay replay : replays.values()) {
+                replay.await();
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (position < size) {
+            System.err.println("Write-ahead log " + file + " has a torn tail; truncating at byte " + position);
+            channel.truncate(position);
+        }
+        return replayed;
+    }
+
+    // One queued record; the key is the storage and entity ID it replaces earlier records for
+    private static final class Pending {
+        private final long key;
+        private final byte[] record;
+
+        private Pending(long key, byte[] record) {
+            this.key = key;
+            this.record = record;
+        }
+    }
+
+    // Applies one storage's records in log order, a batch at a time, on the replay workers
+    private static final class StorageReplay {
+        private final Registration<?> registration;
+        private final Executor workers;
+        private final Semaphore inFlight;
+        private List<DataInputStream> batch = new ArrayList<>(REPLAY_BATCH);
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        private long startNanos = -1;
+        private int records;
+
+        private StorageReplay(Registration<?> registration, Executor workers, Semaphore inFlight) {
+            this.registration = registration;
+            this.workers = workers;
+            this.inFlight = inFlight;
+        }
+
+        private void add(DataInputStream record) {
+            batch.add(record);
+            if (batch.size() >= REPLAY_BATCH) {
+                submit();
+            }
+        }
+
+        private void finish() {
+            if (!batch.isEmpty()) {
+                submit();
+            }
+            tail = tail.thenRunAsync(() -> StartupTimeline.record("replay " + registration.name, startNanos, records + " records"), workers);
+        }
+
+        private void await() throws IOException {
+            try {
+                tail.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw e;
+            }
+        }
+
+        private void submit() {
+            List<DataInputStream> taken = batch;
+            batch = new ArrayList<>(REPLAY_BATCH);
+            // Later batches still run after a failure, only to give back their permits
+            tail = tail.handleAsync((ignored, failure) -> {
+                try {
+                    if (failure != null) {
+                        throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+                    }
+                    if (startNanos < 0) {
+                        startNanos = StartupTimeline.begin();
+                    }
+                    for (DataInputStream record : taken) {
+                        registration.apply(record.readByte(), record);
+                    }
+                    records += taken.size();
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    inFlight.release(taken.size());
+                }
+            }, workers);
+        }
+    }
+
+    private static final class Registration<T> {
+        private final String name;
+        private final int index;
+        private final ConcurrentStorage<T> storage;
+        private final EntityCodec<T> codec;
+
+        private Registration(String name, int index, ConcurrentStorage<T> storage, EntityCodec<T> codec) {
+            this.name = name;
+            this.index = index;
+            this.storage = storage;
+            this.codec = codec;
+        }
+
+        private void apply(byte op, DataInputStream in) throws IOException {
+            switch (op) {
+                case OP_PUT:
+                    storage.restore(codec.read(in));
+                    break;
+                case OP_DELETE:
+                    // The ID was handed out even if a coalesced group never logged its put
+                    int id = in.readInt();
+                    storage.restoreDelete(id);
+                    storage.restoreSequence(id);
+                    break;
+                case OP_CLEAR:
+                    storage.restoreClear();
+                    break;
+                case OP_SEQUENCE:
+                    storage.restoreSequence(in.readInt());
+                    break;
+                default:
+                    throw new IOException("Unknown write-ahead log operation: " + op);
+            }
+        }
+    }
+}
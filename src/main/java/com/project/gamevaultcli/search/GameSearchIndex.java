@@ -0,0 +1,370 @@
+package com.project.gamevaultcli.search;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.utils.IntIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Inverted index over game title, developer and description with BM25 ranking.
+ * <p>
+ * Each game is one document whose term frequencies are weighted by field (title counts
+ * most). Re-indexing a game does not touch its old postings: every posting carries the
+ * epoch of the indexing pass that wrote it, stale epochs are skipped while scoring, and a
+ * postings list is compacted once most of it is stale. Query terms missing from the
+ * dictionary fall back to the closest dictionary terms by trigram similarity.
+ * <p>
+ * Each indexed game gets a dense ordinal, reused once the game is removed, and per-game state
+ * lives in arrays indexed by it, so scoring a posting is a couple of array reads however
+ * sparse or large the game IDs are. A query scores into a small hash map sized to the postings
+ * it reads, so it costs what it matches rather than the size of the catalog.
+ */
+public class GameSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DEVELOPER_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final float MIN_TRIGRAM_SIMILARITY = 0.3f;
+    private static final int MAX_FUZZY_TERMS = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final IntIntHashMap ordinalByGameId = new IntIntHashMap();
+    // Indexed by ordinal; an epoch of -1 means the ordinal is free
+    private int[] documentIds = new int[16];
+    private int[] documentEpochs = new int[16];
+    private int[] documentLengths = new int[16];
+    private String[][] documentTerms = new String[16][];
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int ordinalCount; // Ordinals handed out so far, free or not
+    private int documentCount;
+    private long totalLength;
+    private int nextEpoch;
+
+    public void index(Game game) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, game.getTitle(), TITLE_WEIGHT)
+                + addTerms(frequencies, game.getDeveloper(), DEVELOPER_WEIGHT)
+                + addTerms(frequencies, game.getDescription(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            int gameId = game.getGameId();
+            removeLocked(gameId);
+            int ordinal = allocateOrdinal();
+            int epoch = nextEpoch++;
+            String[] terms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Postings postings = postingsByTerm.get(entry.getKey());
+                if (postings == null) {
+                    postings = new Postings(entry.getKey());
+                    postingsByTerm.put(postings.term, postings);
+                    for (String trigram : trigrams(postings.term)) {
+                        termsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(postings.term);
+                    }
+                }
+                postings.add(ordinal, epoch, entry.getValue());
+                terms[i++] = postings.term;
+            }
+            ordinalByGameId.putIfAbsent(gameId, ordinal);
+            documentIds[ordinal] = gameId;
+            documentEpochs[ordinal] = epoch;
+            documentLengths[ordinal] = length;
+            documentTerms[ordinal] = terms;
+            documentCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int gameId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(gameId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the best matching games, best first.
+     */
+    public List<Integer> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        tokenize(query, queryTerms::add);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documentCount == 0) {
+                return Collections.emptyList();
+            }
+            float averageLength = (float) totalLength / documentCount;
+            List<Postings> matched = new ArrayList<>();
+            List<Float> boosts = new ArrayList<>();
+            long matchedPostings = 0;
+            for (String term : queryTerms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings != null) {
+                    matched.add(postings);
+                    boosts.add(1f);
+                    matchedPostings += postings.live;
+                } else {
+                    for (Map.Entry<String, Float> match : fuzzyMatches(term).entrySet()) {
+                        Postings similar = postingsByTerm.get(match.getKey());
+                        matched.add(similar);
+                        boosts.add(match.getValue());
+                        matchedPostings += similar.live;
+                    }
+                }
+            }
+            Scores scores = new Scores((int) Math.min(matchedPostings, documentCount));
+            for (int i = 0; i < matched.size(); i++) {
+                accumulate(scores, matched.get(i), boosts.get(i), averageLength);
+            }
+            return topK(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void accumulate(Scores scores, Postings postings, float boost, float averageLength) {
+        float idf = (float) Math.log(1 + (documentCount - postings.live + 0.5) / (postings.live + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int ordinal = postings.ordinals[i];
+            if (documentEpochs[ordinal] != postings.epochs[i]) {
+                continue; // Stale posting from an earlier version of the game, or of a game since removed
+            }
+            float tf = postings.frequencies[i];
+            float norm = K1 * (1 - B + B * documentLengths[ordinal] / averageLength);
+            scores.add(ordinal, boost * idf * tf * (K1 + 1) / (tf + norm));
+        }
+    }
+
+    // Dictionary terms sharing enough trigrams with the term, mapped to their similarity
+    private Map<String, Float> fuzzyMatches(String term) {
+        Set<String> queryTrigrams = trigrams(term);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> candidates = termsByTrigram.get(trigram);
+            if (candidates != null) {
+                for (String candidate : candidates) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        List<Map.Entry<String, Float>> similar = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            int candidateTrigrams = trigrams(entry.getKey()).size();
+            float similarity = (float) entry.getValue() / (queryTrigrams.size() + candidateTrigrams - entry.getValue());
+            if (similarity >= MIN_TRIGRAM_SIMILARITY) {
+                similar.add(Map.entry(entry.getKey(), similarity));
+            }
+        }
+        similar.sort((a, b) -> Float.compare(b.getValue(), a.getValue()));
+        Map<String, Float> matches = new HashMap<>();
+        for (int i = 0; i < similar.size() && i < MAX_FUZZY_TERMS; i++) {
+            matches.put(similar.get(i).getKey(), similar.get(i).getValue());
+        }
+        return matches;
+    }
+
+    private List<Integer> topK(Scores scores, int limit) {
+        // Highest score first, ties to the smaller game ID
+        PriorityQueue<Integer> best = new PriorityQueue<>((a, b) -> {
+            int byScore = Float.compare(scores.values[a], scores.values[b]);
+            return byScore != 0 ? byScore : Integer.compare(documentIds[scores.ordinals[b]], documentIds[scores.ordinals[a]]);
+        });
+        for (int slot = 0; slot < scores.ordinals.length; slot++) {
+            if (scores.ordinals[slot] < 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.offer(slot);
+            } else if (best.comparator().compare(slot, best.peek()) > 0) {
+                best.poll();
+                best.offer(slot);
+            }
+        }
+        Integer[] ids = new Integer[best.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = documentIds[scores.ordinals[best.poll()]];
+        }
+        return Arrays.asList(ids);
+    }
+
+    private void removeLocked(int gameId) {
+        int ordinal = ordinalByGameId.remove(gameId, -1);
+        if (ordinal < 0) {
+            return;
+        }
+        String[] terms = documentTerms[ordinal];
+        totalLength -= documentLengths[ordinal];
+        documentEpochs[ordinal] = -1;
+        documentTerms[ordinal] = null;
+        freeOrdinals[freeCount++] = ordinal;
+        documentCount--;
+        for (String term : terms) {
+            Postings postings = postingsByTerm.get(term);
+            postings.live--;
+            if (postings.live == 0) {
+                postingsByTerm.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> similarTerms = termsByTrigram.get(trigram);
+                    similarTerms.remove(term);
+                    if (similarTerms.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            } else if (postings.size > 2 * postings.live + 8) {
+                postings.compact(documentEpochs);
+            }
+        }
+    }
+
+    // Reuses a removed game's ordinal; its old postings stay stale because epochs never repeat
+    private int allocateOrdinal() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        if (ordinalCount == documentEpochs.length) {
+            int capacity = ordinalCount * 2;
+            documentIds = Arrays.copyOf(documentIds, capacity);
+            documentEpochs = Arrays.copyOf(documentEpochs, capacity);
+            documentLengths = Arrays.copyOf(documentLengths, capacity);
+            documentTerms = Arrays.copyOf(documentTerms, capacity);
+            freeOrdinals = Arrays.copyOf(freeOrdinals, capacity);
+        }
+        return ordinalCount++;
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        int[] length = new int[1];
+        tokenize(text, term -> {
+            frequencies.merge(term, weight, Integer::sum);
+            length[0] += weight;
+        });
+        return length[0];
+    }
+
+    // Lower-cased runs of letters and digits
+    static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                sink.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = "$$" + term + "$";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    // Score accumulator indexed by game ID, remembering which games the current query touched
+    // Open-addressing ordinal -> score map for one query; an ordinal of -1 marks an empty slot
+    private static final class Scores {
+        private final int[] ordinals;
+        private final float[] values;
+        private final int mask;
+
+        private Scores(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+            ordinals = new int[capacity];
+            values = new float[capacity];
+            mask = capacity - 1;
+            Arrays.fill(ordinals, -1);
+        }
+
+        private void add(int ordinal, float score) {
+            int slot = ordinal * 0x9E3779B9 & mask;
+            while (ordinals[slot] != ordinal && ordinals[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            ordinals[slot] = ordinal;
+            values[slot] += score;
+        }
+    }
+
+    // Parallel primitive arrays: one entry per (ordinal, epoch) that contained the term
+    private static final class Postings {
+        private final String term;
+        private int[] ordinals = new int[4];
+        private int[] epochs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int live;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void add(int ordinal, int epoch, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                epochs = Arrays.copyOf(epochs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            epochs[size] = epoch;
+            frequencies[size] = frequency;
+            size++;
+            live++;
+        }
+
+        private void compact(int[] documentEpochs) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (documentEpochs[ordinals[i]] == epochs[i]) {
+                    ordinals[kept] = ordinals[i];
+                    epochs[kept] = epochs[i];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.gamevaultcli.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Local listener that runs one menu session per connection.
+ * <p>
+ * The address is either a TCP port on the loopback interface or the path of a Unix domain
+ * socket. Every session gets its own input and output, so login state stays per connection,
+ * while the storages and managements behind the sessions are shared. Sessions run on virtual
+ * threads when the runtime has them, and on a cached pool of platform threads otherwise.
+ */
+public class GameVaultServer implements Closeable {
+
+    public static final int DEFAULT_PORT = 7070;
+
+    private final ServerSocketChannel serverChannel;
+    private final Path socketFile;
+    private final BiConsumer<InputStream, PrintStream> session;
+    private final ExecutorService executor = newSessionExecutor();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    private GameVaultServer(ServerSocketChannel serverChannel, Path socketFile, BiConsumer<InputStream, PrintStream> session) {
+        this.serverChannel = serverChannel;
+        this.socketFile = socketFile;
+        this.session = session;
+    }
+
+    /**
+     * Binds to the given port on loopback, or to a Unix domain socket when the address is not a number.
+     */
+    public static GameVaultServer bind(String address, BiConsumer<InputStream, PrintStream> session) throws IOException {
+        if (address.chars().allMatch(Character::isDigit)) {
+            ServerSocketChannel channel = ServerSocketChannel.open();
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address)), 1024);
+            return new GameVaultServer(channel, null, session);
+        }
+        Path socketFile = Path.of(address);
+        Files.deleteIfExists(socketFile); // Left behind by a server that did not shut down cleanly
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(UnixDomainSocketAddress.of(socketFile), 1024);
+        return new GameVaultServer(channel, socketFile, session);
+    }
+
+    public SocketAddress getAddress() throws IOException {
+        return serverChannel.getLocalAddress();
+    }
+
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    public void serve() throws IOException {
+        while (true) {
+            SocketChannel connection;
+            try {
+                connection = serverChannel.accept();
+            } catch (AsynchronousCloseException e) {
+                return; // Closed by close()
+            }
+            executor.execute(() -> runSession(connection));
+        }
+    }
+
+    private void runSession(SocketChannel connection) {
+        activeSessions.incrementAndGet();
+        try (SocketChannel channel = connection) {
+            PrintStream out = new PrintStream(Channels.newOutputStream(channel), true, StandardCharsets.UTF_8);
+            session.accept(Channels.newInputStream(channel), out);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Session ended with an error: " + e.getMessage());
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        executor.shutdownNow();
+        if (socketFile != null) {
+            Files.deleteIfExists(socketFile);
+        }
+    }
+
+    // Virtual threads are looked up reflectively so the build still targets Java 17
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "gamevault-session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,718 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.interfaces.RecordStore;
+import com.project.gamevaultcli.metrics.CacheStats;
+import com.project.gamevaultcli.persistence.EntityCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Record store kept in a B+tree file instead of the heap, so a storage can hold more than
+ * fits in memory. Records are encoded with the same codecs as the write-ahead log; what comes
+ * back is a fresh copy on every read.
+ * <p>
+ * The file is a sequence of 8 KiB pages cached in a {@link BufferPool}. Page 0 holds a small
+ * header and doubles as the "no page" link. Inner pages hold {@code [child][key][child]...}
+ * with keys greater than or equal to a separator found to its right. Leaf pages hold a
+ * sorted slot array ({@code key, offset, length}) growing from the front and the encoded
+ * records packed from the back, plus a link to the next leaf for range scans. A record larger
+ * than a quarter of a page goes to a chain of overflow pages and its slot points there.
+ * Appending past the last key leaves full leaves behind, as IDs mostly arrive in order.
+ * Deletes free overflow pages for reuse but do not merge leaves.
+ * <p>
+ * The file is scratch space: it is truncated when opened and removed when closed or when the
+ * JVM exits, so durability across restarts stays with the write-ahead log. A read-write lock
+ * lets lookups and scans run side by side while writes are exclusive.
+ */
+public class BTreeRecordStore<T> implements RecordStore<T>, Closeable {
+
+    public static final int PAGE_SIZE = 8192;
+
+    private static final int MAGIC = 0x47564254; // "GVBT"
+    private static final int VERSION = 1;
+    private static final byte LEAF = 1;
+    private static final byte INNER = 2;
+    private static final byte OVERFLOW = 3;
+    private static final byte FREE = 4;
+    private static final int HEADER = 8; // type, unused, count (unsigned short), next page
+    private static final int SLOT = 8;
+    private static final int OVERFLOW_CELL = 8; // first page, total length
+    private static final short OVERFLOW_LENGTH = -1;
+    private static final int MAX_INLINE = (PAGE_SIZE - HEADER) / 4 - SLOT;
+    private static final int OVERFLOW_DATA = PAGE_SIZE - HEADER;
+    private static final int INNER_MAX_KEYS = (PAGE_SIZE - HEADER - 4) / 8;
+    private static final int NO_PAGE = 0;
+    private static final int FIRST_VIEW_BATCH = 16;
+    private static final int VIEW_BATCH = 256;
+
+    private final FileChannel channel;
+    private final BufferPool pool;
+    private final EntityCodec<T> codec;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int root;
+    private int height; // 1 while the root is a leaf
+    private int pageCount;
+    private int freeHead = NO_PAGE;
+    private volatile int size;
+
+    private BTreeRecordStore(FileChannel channel, EntityCodec<T> codec, int cachePages) {
+        this.channel = channel;
+        this.codec = codec;
+        this.pool = new BufferPool(channel, PAGE_SIZE, cachePages);
+
+        int frame = pool.pinNew(0);
+        ByteBuffer header = pool.buffer(frame);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, PAGE_SIZE);
+        pool.unpin(frame, true);
+
+        root = 1;
+        height = 1;
+        pageCount = 2;
+        frame = pool.pinNew(root);
+        pool.buffer(frame).put(0, LEAF);
+        pool.unpin(frame, true);
+    }
+
+    /**
+     * Creates an empty store in the file, replacing whatever it held, with room for
+     * cachePages pages in memory.
+     */
+    public static <T> BTreeRecordStore<T> create(Path file, EntityCodec<T> codec, int cachePages) throws IOException {
+        if (cachePages < 16 || (long) cachePages * PAGE_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The page cache must hold between 16 and " + Integer.MAX_VALUE / PAGE_SIZE + " pages: " + cachePages);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        return new BTreeRecordStore<>(channel, codec, cachePages);
+    }
+
+    @Override
+    public T get(int id) {
+        lock.readLock().lock();
+        try {
+            int frame = pool.pin(findLeaf(id));
+            try {
+                ByteBuffer page = pool.buffer(frame);
+                int slot = searchLeaf(page, id);
+                return slot < 0 ? null : decode(readValue(page, slot));
+            } finally {
+                pool.unpin(frame, false);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(int id) {
+        lock.readLock().lock();
+        try {
+            int frame = pool.pin(findLeaf(id));
+            try {
+                return searchLeaf(pool.buffer(frame), id) >= 0;
+            } finally {
+                pool.unpin(frame, false);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public T put(int id, T record) {
+        byte[] value = encode(record);
+        lock.writeLock().lock();
+        try {
+            int[] path = new int[height];
+            int page = root;
+            for (int level = 0; level < height - 1; level++) {
+                path[level] = page;
+                int frame = pool.pin(page);
+                try {
+                    page = childFor(pool.buffer(frame), id);
+                } finally {
+                    pool.unpin(frame, false);
+                }
+            }
+            path[height - 1] = page;
+
+            Leaf leaf = readLeaf(page);
+            int index = leaf.search(id);
+            T previous = null;
+            boolean overflow = value.length > MAX_INLINE;
+            byte[] cell = overflow ? overflowCell(writeOverflow(value), value.length) : value;
+            if (index >= 0) {
+                previous = decode(leaf.value(index));
+                leaf.free(index);
+                leaf.cells[index] = cell;
+                leaf.overflow[index] = overflow;
+            } else {
+                index = -index - 1;
+                leaf.insert(index, id, cell, overflow);
+                size++;
+            }
+            if (leaf.bytes(0, leaf.count) <= PAGE_SIZE) {
+                writeLeaf(page, leaf, 0, leaf.count, leaf.next);
+            } else {
+                splitLeaf(path, leaf, index);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public T remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int page = findLeaf(id);
+            Leaf leaf = readLeaf(page);
+            int index = leaf.search(id);
+            if (index < 0) {
+                return null;
+            }
+            T previous = decode(leaf.value(index));
+            leaf.free(index);
+            leaf.remove(index);
+            writeLeaf(page, leaf, 0, leaf.count, leaf.next);
+            size--;
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Collection<T> values() {
+        return new Records(null);
+    }
+
+    @Override
+    public Collection<T> valuesAfter(int afterId) {
+        return new Records(afterId);
+    }
+
+    public int getPageCount() {
+        lock.readLock().lock();
+        try {
+            return pageCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hits and misses of the page cache, for the stats table.
+     */
+    public CacheStats getCacheStats(String name) {
+        return pool.getStats(name);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private int findLeaf(int id) {
+        int page = root;
+        for (int level = 1; level < height; level++) {
+            int frame = pool.pin(page);
+            try {
+                page = childFor(pool.buffer(frame), id);
+            } finally {
+                pool.unpin(frame, false);
+            }
+        }
+        return page;
+    }
+
+    private static int count(ByteBuffer page) {
+        return page.getChar(2);
+    }
+
+    // Inner pages interleave children and keys: child j at HEADER + 8j, key i at HEADER + 4 + 8i
+    private static int childFor(ByteBuffer page, int id) {
+        int low = 0;
+        int high = count(page);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (page.getInt(HEADER + 4 + middle * 8) <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return page.getInt(HEADER + low * 8);
+    }
+
+    // Slot of the key in a leaf page, or -(insertion point) - 1
+    private static int searchLeaf(ByteBuffer page, int id) {
+        int low = 0;
+        int high = count(page) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int key = page.getInt(HEADER + middle * SLOT);
+            if (key < id) {
+                low = middle + 1;
+            } else if (key > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private byte[] readValue(ByteBuffer page, int slot) {
+        int offset = page.getChar(HEADER + slot * SLOT + 4);
+        short length = page.getShort(HEADER + slot * SLOT + 6);
+        if (length == OVERFLOW_LENGTH) {
+            return readOverflow(page.getInt(offset), page.getInt(offset + 4));
+        }
+        byte[] value = new byte[length];
+        page.get(offset, value);
+        return value;
+    }
+
+    private Leaf readLeaf(int pageNumber) {
+        int frame = pool.pin(pageNumber);
+        try {
+            ByteBuffer page = pool.buffer(frame);
+            int count = count(page);
+            Leaf leaf = new Leaf(count, page.getInt(4));
+            for (int slot = 0; slot < count; slot++) {
+                int base = HEADER + slot * SLOT;
+                int offset = page.getChar(base + 4);
+                short length = page.getShort(base + 6);
+                boolean overflow = length == OVERFLOW_LENGTH;
+                byte[] cell = new byte[overflow ? OVERFLOW_CELL : length];
+                page.get(offset, cell);
+                leaf.keys[slot] = page.getInt(base);
+                leaf.cells[slot] = cell;
+                leaf.overflow[slot] = overflow;
+            }
+            return leaf;
+        } finally {
+            pool.unpin(frame, false);
+        }
+    }
+
+    // Writes slots [from, to) of the leaf to the page, cells packed from the end of the page
+    private void writeLeaf(int pageNumber, Leaf leaf, int from, int to, int next) {
+        int frame = pool.pinNew(pageNumber);
+        try {
+            ByteBuffer page = pool.buffer(frame);
+            page.put(0, LEAF);
+            page.putChar(2, (char) (to - from));
+            page.putInt(4, next);
+            int end = PAGE_SIZE;
+            for (int i = from; i < to; i++) {
+                byte[] cell = leaf.cells[i];
+                end -= cell.length;
+                page.put(end, cell);
+                int base = HEADER + (i - from) * SLOT;
+                page.putInt(base, leaf.keys[i]);
+                page.putChar(base + 4, (char) end);
+                page.putShort(base + 6, leaf.overflow[i] ? OVERFLOW_LENGTH : (short) cell.length);
+            }
+        } finally {
+            pool.unpin(frame, true);
+        }
+    }
+
+    private void splitLeaf(int[] path, Leaf leaf, int inserted) {
+        int split;
+        if (inserted == leaf.count - 1 && leaf.next == NO_PAGE) {
+            split = inserted; // Appending to the last leaf: keep it full and start a new one
+        } else {
+            int half = leaf.bytes(0, leaf.count) / 2;
+            int left = leaf.bytes(0, 1);
+            split = 1;
+            while (split < leaf.count - 1 && left + SLOT + leaf.cells[split].length <= half) {
+                left += SLOT + leaf.cells[split].length;
+                split++;
+            }
+        }
+        int page = path[path.length - 1];
+        int right = allocatePage();
+        writeLeaf(right, leaf, split, leaf.count, leaf.next);
+        writeLeaf(page, leaf, 0, split, right);
+        insertIntoParent(path, path.length - 2, leaf.keys[split], right);
+    }
+
+    // Adds a separator and the page to its right to the inner node at the level, splitting upwards as needed
+    private void insertIntoParent(int[] path, int level, int key, int right) {
+        if (level < 0) {
+            int newRoot = allocatePage();
+            writeInner(newRoot, new int[]{key}, new int[]{root, right}, 0, 1);
+            root = newRoot;
+            height++;
+            return;
+        }
+        int page = path[level];
+        int[] keys;
+        int[] children;
+        int frame = pool.pin(page);
+        try {
+            ByteBuffer buffer = pool.buffer(frame);
+            int count = count(buffer);
+            keys = new int[count + 1];
+            children = new int[count + 2];
+            int position = count;
+            for (int i = 0; i < count; i++) {
+                keys[i] = buffer.getInt(HEADER + 4 + i * 8);
+                if (position == count && keys[i] > key) {
+                    position = i;
+                }
+            }
+            for (int i = 0; i <= count; i++) {
+                children[i] = buffer.getInt(HEADER + i * 8);
+            }
+            System.arraycopy(keys, position, keys, position + 1, count - position);
+            System.arraycopy(children, position + 1, children, position + 2, count - position);
+            keys[position] = key;
+            children[position + 1] = right;
+        } finally {
+            pool.unpin(frame, false);
+        }
+
+        if (keys.length <= INNER_MAX_KEYS) {
+            writeInner(page, keys, children, 0, keys.length);
+            return;
+        }
+        // The middle key moves up; each half keeps the children on its side of it
+        int middle = keys.length / 2;
+        int sibling = allocatePage();
+        writeInner(page, keys, children, 0, middle);
+        writeInner(sibling, keys, children, middle + 1, keys.length);
+        insertIntoParent(path, level - 1, keys[middle], sibling);
+    }
+
+    // Writes keys [from, to) and the children around them
+    private void writeInner(int pageNumber, int[] keys, int[] children, int from, int to) {
+        int frame = pool.pinNew(pageNumber);
+        try {
+            ByteBuffer page = pool.buffer(frame);
+            page.put(0, INNER);
+            page.putChar(2, (char) (to - from));
+            page.putInt(HEADER, children[from]);
+            for (int i = from; i < to; i++) {
+                page.putInt(HEADER + 4 + (i - from) * 8, keys[i]);
+                page.putInt(HEADER + (i - from + 1) * 8, children[i + 1]);
+            }
+        } finally {
+            pool.unpin(frame, true);
+        }
+    }
+
+    private int allocatePage() {
+        if (freeHead == NO_PAGE) {
+            return pageCount++;
+        }
+        int page = freeHead;
+        int frame = pool.pin(page);
+        try {
+            freeHead = pool.buffer(frame).getInt(4);
+        } finally {
+            pool.unpin(frame, false);
+        }
+        return page;
+    }
+
+    private void freePage(int page) {
+        int frame = pool.pinNew(page);
+        try {
+            ByteBuffer buffer = pool.buffer(frame);
+            buffer.put(0, FREE);
+            buffer.putInt(4, freeHead);
+        } finally {
+            pool.unpin(frame, true);
+        }
+        freeHead = page;
+    }
+
+    private int writeOverflow(byte[] value) {
+        int[] pages = new int[(value.length + OVERFLOW_DATA - 1) / OVERFLOW_DATA];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = allocatePage();
+        }
+        for (int i = 0; i < pages.length; i++) {
+            int frame = pool.pinNew(pages[i]);
+            try {
+                ByteBuffer page = pool.buffer(frame);
+                page.put(0, OVERFLOW);
+                page.putInt(4, i + 1 < pages.length ? pages[i + 1] : NO_PAGE);
+                int offset = i * OVERFLOW_DATA;
+                page.put(HEADER, value, offset, Math.min(OVERFLOW_DATA, value.length - offset));
+            } finally {
+                pool.unpin(frame, true);
+            }
+        }
+        return pages[0];
+    }
+
+    private byte[] readOverflow(int first, int length) {
+        byte[] value = new byte[length];
+        int page = first;
+        for (int offset = 0; offset < length; offset += OVERFLOW_DATA) {
+            int frame = pool.pin(page);
+            try {
+                ByteBuffer buffer = pool.buffer(frame);
+                buffer.get(HEADER, value, offset, Math.min(OVERFLOW_DATA, length - offset));
+                page = buffer.getInt(4);
+            } finally {
+                pool.unpin(frame, false);
+            }
+        }
+        return value;
+    }
+
+    private void freeOverflow(int first) {
+        int page = first;
+        while (page != NO_PAGE) {
+            int frame = pool.pin(page);
+            int next;
+            try {
+                next = pool.buffer(frame).getInt(4);
+            } finally {
+                pool.unpin(frame, false);
+            }
+            freePage(page);
+            page = next;
+        }
+    }
+
+    private static byte[] overflowCell(int first, int length) {
+        return ByteBuffer.allocate(OVERFLOW_CELL).putInt(first).putInt(length).array();
+    }
+
+    private byte[] encode(T record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            codec.write(new DataOutputStream(bytes), record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private T decode(byte[] value) {
+        try {
+            return codec.read(new DataInputStream(new ByteArrayInputStream(value)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A leaf page decoded for modification; cells are record bytes or overflow references
+    private final class Leaf {
+        private int count;
+        private int next;
+        private int[] keys;
+        private byte[][] cells;
+        private boolean[] overflow;
+
+        private Leaf(int count, int next) {
+            this.count = count;
+            this.next = next;
+            this.keys = new int[count + 1];
+            this.cells = new byte[count + 1][];
+            this.overflow = new boolean[count + 1];
+        }
+
+        private int search(int id) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] < id) {
+                    low = middle + 1;
+                } else if (keys[middle] > id) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private byte[] value(int index) {
+            if (!overflow[index]) {
+                return cells[index];
+            }
+            ByteBuffer reference = ByteBuffer.wrap(cells[index]);
+            return readOverflow(reference.getInt(0), reference.getInt(4));
+        }
+
+        private void free(int index) {
+            if (overflow[index]) {
+                freeOverflow(ByteBuffer.wrap(cells[index]).getInt(0));
+            }
+        }
+
+        // Room is reserved for one insert when the leaf is read
+        private void insert(int index, int id, byte[] cell, boolean isOverflow) {
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(cells, index, cells, index + 1, count - index);
+            System.arraycopy(overflow, index, overflow, index + 1, count - index);
+            keys[index] = id;
+            cells[index] = cell;
+            overflow[index] = isOverflow;
+            count++;
+        }
+
+        private void remove(int index) {
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(cells, index + 1, cells, index, count - index - 1);
+            System.arraycopy(overflow, index + 1, overflow, index, count - index - 1);
+            count--;
+        }
+
+        // Page bytes needed for slots [from, to)
+        private int bytes(int from, int to) {
+            int bytes = HEADER + (to - from) * SLOT;
+            for (int i = from; i < to; i++) {
+                bytes += cells[i].length;
+            }
+            return bytes;
+        }
+    }
+
+    private final class Records extends AbstractCollection<T> {
+        private final Integer afterId;
+
+        private Records(Integer afterId) {
+            this.afterId = afterId;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new RecordIterator(afterId);
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public int size() {
+            if (afterId == null) {
+                return BTreeRecordStore.this.size();
+            }
+            int count = 0;
+            for (Iterator<T> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    // Reads the leaves a batch at a time, finding its place again by key, so writers are never held up for long.
+    // Batches start small and grow, as a page of results only needs the first few records.
+    private final class RecordIterator implements Iterator<T> {
+        private final List<T> batch = new ArrayList<>();
+        private int batchSize = FIRST_VIEW_BATCH;
+        private Integer lastId;
+        private int position;
+        private boolean exhausted;
+
+        private RecordIterator(Integer afterId) {
+            this.lastId = afterId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < batch.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            fill();
+            return position < batch.size();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(position++);
+        }
+
+        private void fill() {
+            batch.clear();
+            position = 0;
+            lock.readLock().lock();
+            try {
+                int page = findLeaf(lastId == null ? Integer.MIN_VALUE : lastId);
+                int frame = pool.pin(page);
+                try {
+                    ByteBuffer buffer = pool.buffer(frame);
+                    int slot = 0;
+                    if (lastId != null) {
+                        slot = searchLeaf(buffer, lastId);
+                        slot = slot >= 0 ? slot + 1 : -slot - 1;
+                    }
+                    while (batch.size() < batchSize) {
+                        if (slot < count(buffer)) {
+                            lastId = buffer.getInt(HEADER + slot * SLOT);
+                            batch.add(decode(readValue(buffer, slot)));
+                            slot++;
+                            continue;
+                        }
+                        int next = buffer.getInt(4);
+                        if (next == NO_PAGE) {
+                            exhausted = true;
+                            break;
+                        }
+                        int nextFrame = pool.pin(next);
+                        pool.unpin(frame, false);
+                        frame = nextFrame;
+                        buffer = pool.buffer(frame);
+                        slot = 0;
+                    }
+                } finally {
+                    pool.unpin(frame, false);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            batchSize = Math.min(batchSize * 2, VIEW_BATCH);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.metrics.CacheStats;
+import com.project.gamevaultcli.utils.IntIntHashMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Fixed-size pages of a file cached in a bounded number of frames. A page is pinned while it
+ * is being read or written and unpinned frames are recycled in clock order, after writing them
+ * back if they were changed. Frames are only read and written with absolute offsets, so
+ * several threads can share a pinned page as long as none of them writes to it.
+ */
+final class BufferPool {
+
+    private static final int NO_PAGE = -1;
+
+    private final FileChannel channel;
+    private final int pageSize;
+    private final ByteBuffer[] frames;
+    private final int[] framePages;
+    private final int[] pins;
+    private final boolean[] dirty;
+    private final boolean[] referenced;
+    private final IntIntHashMap pageTable; // page -> frame
+    private int hand;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    BufferPool(FileChannel channel, int pageSize, int frameCount) {
+        this.channel = channel;
+        this.pageSize = pageSize;
+        this.frames = new ByteBuffer[frameCount];
+        this.framePages = new int[frameCount];
+        this.pins = new int[frameCount];
+        this.dirty = new boolean[frameCount];
+        this.referenced = new boolean[frameCount];
+        this.pageTable = new IntIntHashMap(frameCount);
+        ByteBuffer memory = ByteBuffer.allocateDirect(pageSize * frameCount);
+        for (int i = 0; i < frameCount; i++) {
+            frames[i] = memory.slice(i * pageSize, pageSize);
+            framePages[i] = NO_PAGE;
+        }
+    }
+
+    /**
+     * Pins the page, reading it from the file unless it is cached. Returns its frame.
+     */
+    synchronized int pin(int page) {
+        int frame = pageTable.get(page, NO_PAGE);
+        if (frame != NO_PAGE) {
+            hits++;
+        } else {
+            misses++;
+            frame = victim();
+            read(page, frames[frame]);
+            install(page, frame);
+        }
+        pins[frame]++;
+        referenced[frame] = true;
+        return frame;
+    }
+
+    /**
+     * Pins a page that is new or being reused, without reading its old contents. Returns its frame, zeroed.
+     */
+    synchronized int pinNew(int page) {
+        int frame = pageTable.get(page, NO_PAGE);
+        if (frame == NO_PAGE) {
+            frame = victim();
+            install(page, frame);
+        }
+        ByteBuffer buffer = frames[frame];
+        for (int i = 0; i < pageSize; i += Long.BYTES) {
+            buffer.putLong(i, 0L);
+        }
+        pins[frame]++;
+        referenced[frame] = true;
+        dirty[frame] = true;
+        return frame;
+    }
+
+    ByteBuffer buffer(int frame) {
+        return frames[frame];
+    }
+
+    synchronized void unpin(int frame, boolean changed) {
+        pins[frame]--;
+        dirty[frame] |= changed;
+    }
+
+    synchronized CacheStats getStats(String name) {
+        return new CacheStats(name, hits, misses, evictions, pageTable.size());
+    }
+
+    private void install(int page, int frame) {
+        if (framePages[frame] != NO_PAGE) {
+            pageTable.remove(framePages[frame], NO_PAGE);
+        }
+        framePages[frame] = page;
+        pageTable.putIfAbsent(page, frame);
+    }
+
+    // Sweeps the clock past recently used frames and writes the chosen one back if needed
+    private int victim() {
+        for (int scanned = 0; scanned < frames.length * 2; scanned++) {
+            int frame = hand;
+            hand = (hand + 1) % frames.length;
+            if (pins[frame] > 0) {
+                continue;
+            }
+            if (referenced[frame]) {
+                referenced[frame] = false;
+                continue;
+            }
+            if (dirty[frame]) {
+                write(framePages[frame], frames[frame]);
+                dirty[frame] = false;
+            }
+            if (framePages[frame] != NO_PAGE) {
+                evictions++;
+            }
+            return frame;
+        }
+        throw new IllegalStateException("Every buffer pool frame is pinned");
+    }
+
+    private void read(int page, ByteBuffer frame) {
+        ByteBuffer target = frame.duplicate().clear();
+        long position = (long) page * pageSize;
+        try {
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position + target.position());
+                if (read < 0) {
+                    break; // Past the end of the file: the rest of the page reads as zeros
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        while (target.hasRemaining()) {
+            target.put((byte) 0);
+        }
+    }
+
+    private void write(int page, ByteBuffer frame) {
+        ByteBuffer source = frame.duplicate().clear();
+        long position = (long) page * pageSize;
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source, position + source.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.interfaces.ChangeSubscriber;
+import com.project.gamevaultcli.metrics.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of another storage. Point lookups are answered from a bounded
+ * LRU cache and loaded from the delegate on a miss; scans and pages always go to the delegate.
+ * <p>
+ * The cache is split into segments with their own lock and share of the bound, so lookups
+ * for different IDs rarely contend. The bound is either a number of entries or a total weight
+ * given by a weigher; the least recently used entries of a segment go first. Entries can also
+ * expire a fixed time after they were loaded.
+ * <p>
+ * Writes through the cache go to the delegate and then refresh the cached entry. Writes made on
+ * the delegate directly are only seen if {@link #invalidator()} is registered as its listener;
+ * loading a checkpoint or replaying a log notifies nobody, so do that before the first lookup.
+ */
+public class CachingStorage<T, ID> implements StorageInterface<T, ID> {
+
+    private static final int SEGMENTS = 16;
+
+    private final StorageInterface<T, ID> delegate;
+    private final Function<? super T, ? extends ID> idOf;
+    private final long ttlNanos;
+    private final List<Segment<ID, T>> segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Caches up to maxEntries entities; a ttlMillis of 0 keeps them until they are evicted.
+     */
+    public CachingStorage(StorageInterface<T, ID> delegate, Function<? super T, ? extends ID> idOf, long maxEntries, long ttlMillis) {
+        this(delegate, idOf, maxEntries, entity -> 1, ttlMillis);
+    }
+
+    /**
+     * Caches entities up to a total weight, e.g. an estimate of their size in bytes.
+     */
+    public CachingStorage(StorageInterface<T, ID> delegate, Function<? super T, ? extends ID> idOf, long maxWeight, ToIntFunction<? super T> weigher, long ttlMillis) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("The cache bound must be positive: " + maxWeight);
+        }
+        this.delegate = delegate;
+        this.idOf = idOf;
+        this.ttlNanos = ttlMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(ttlMillis) : 0;
+        this.segments = new ArrayList<>(SEGMENTS);
+        long segmentWeight = Math.max(1, (maxWeight + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.add(new Segment<>(segmentWeight, weigher, evictions));
+        }
+    }
+
+    @Override
+    public T findById(ID id) {
+        if (id == null) {
+            return null;
+        }
+        Segment<ID, T> segment = segmentFor(id);
+        long generation;
+        synchronized (segment) {
+            CacheEntry<T> entry = segment.get(id);
+            if (entry != null) {
+                if (ttlNanos == 0 || System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                segment.removeEntry(id);
+            }
+            generation = segment.generation;
+        }
+        misses.increment();
+        T entity = delegate.findById(id);
+        if (entity != null) {
+            synchronized (segment) {
+                // Skip caching if the ID was written meanwhile, as the loaded value may be stale
+                if (segment.generation == generation) {
+                    segment.putEntry(id, entity);
+                }
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public List<T> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<T> findPage(int offset, int limit) {
+        return delegate.findPage(offset, limit);
+    }
+
+    @Override
+    public List<T> findPageAfter(ID afterId, int limit) {
+        return delegate.findPageAfter(afterId, limit);
+    }
+
+    @Override
+    public List<T> findWhere(Predicate<? super T> filter) {
+        return delegate.findWhere(filter);
+    }
+
+    @Override
+    public void save(T entity) {
+        delegate.save(entity);
+        refresh(entity);
+    }
+
+    @Override
+    public void update(T entity) {
+        delegate.update(entity);
+        refresh(entity);
+    }
+
+    @Override
+    public void delete(ID id) {
+        delegate.delete(id);
+        invalidate(id);
+    }
+
+    public void invalidate(ID id) {
+        if (id == null) {
+            return;
+        }
+        Segment<ID, T> segment = segmentFor(id);
+        synchronized (segment) {
+            segment.generation++;
+            segment.removeEntry(id);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<ID, T> segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * A subscriber that drops the entry of every entity stored or deleted on the delegate.
+     */
+    public ChangeSubscriber<T> invalidator() {
+        return event -> invalidate(idOf.apply(event.getAfter() != null ? event.getAfter() : event.getBefore()));
+    }
+
+    public CacheStats getStats(String name) {
+        long size = 0;
+        for (Segment<ID, T> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private void refresh(T entity) {
+        ID id = idOf.apply(entity);
+        Segment<ID, T> segment = segmentFor(id);
+        synchronized (segment) {
+            segment.generation++;
+            segment.removeEntry(id);
+            segment.putEntry(id, entity);
+        }
+    }
+
+    private Segment<ID, T> segmentFor(ID id) {
+        int hash = id.hashCode() * 0x9E3779B9;
+        return segments.get((hash ^ (hash >>> 16)) & (SEGMENTS - 1));
+    }
+
+    private static final class CacheEntry<T> {
+        private final T value;
+        private final int weight;
+        private final long loadedAt;
+
+        private CacheEntry(T value, int weight, long loadedAt) {
+            this.value = value;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // An access-ordered map, so iteration starts at the least recently used entry; guarded by its own monitor
+    private static final class Segment<ID, T> {
+        private final Map<ID, CacheEntry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxWeight;
+        private final ToIntFunction<? super T> weigher;
+        private final LongAdder evictions;
+        private long weight;
+        private long generation;
+
+        private Segment(long maxWeight, ToIntFunction<? super T> weigher, LongAdder evictions) {
+            this.maxWeight = maxWeight;
+            this.weigher = weigher;
+            this.evictions = evictions;
+        }
+
+        private CacheEntry<T> get(ID id) {
+            return entries.get(id);
+        }
+
+        private int size() {
+            return entries.size();
+        }
+
+        private void clear() {
+            entries.clear();
+            weight = 0;
+        }
+
+        private void putEntry(ID id, T entity) {
+            int entityWeight = Math.max(1, weigher.applyAsInt(entity));
+            if (entityWeight > maxWeight) {
+                return; // Would evict everything else and still not fit
+            }
+            CacheEntry<T> previous = entries.put(id, new CacheEntry<>(entity, entityWeight, System.nanoTime()));
+            weight += entityWeight - (previous == null ? 0 : previous.weight);
+            Iterator<Map.Entry<ID, CacheEntry<T>>> eldest = entries.entrySet().iterator();
+            while (weight > maxWeight && eldest.hasNext()) {
+                CacheEntry<T> evicted = eldest.next().getValue();
+                eldest.remove();
+                weight -= evicted.weight;
+                evictions.increment();
+            }
+        }
+
+        private void removeEntry(ID id) {
+            CacheEntry<T> removed = entries.remove(id);
+            if (removed != null) {
+                weight -= removed.weight;
+            }
+        }
+    }
+}
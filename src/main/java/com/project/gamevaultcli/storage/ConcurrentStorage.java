@@ -0,0 +1,246 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.events.ChangeBus;
+import com.project.gamevaultcli.events.ChangeType;
+import com.project.gamevaultcli.interfaces.RecordStore;
+import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.utils.StripedLock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Shared base for the storages. Records live in a {@link RecordStore} ordered by ID
+ * (a concurrent map unless the subclass supplies its own), and new IDs come from a lock-free
+ * sequence instead of scanning the existing keys. Saves, updates and deletes are published on
+ * {@link #changes()} with the entity before and after, for anything derived from the records.
+ * Each change is stored and published under a lock striped by ID, so the changes to one ID are
+ * published in the order they were applied.
+ */
+public abstract class ConcurrentStorage<T> implements StorageInterface<T, Integer> {
+
+    protected final RecordStore<T> records; // On the heap unless a disk store was supplied
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final ChangeBus<T> changes = new ChangeBus<>();
+    private final StripedLock idLocks = new StripedLock(64);
+
+    protected ConcurrentStorage() {
+        this(new HeapRecordStore<>());
+    }
+
+    protected ConcurrentStorage(RecordStore<T> records) {
+        this.records = records;
+    }
+
+    protected abstract int getId(T entity);
+
+    protected abstract void setId(T entity, int id);
+
+    @Override
+    public T findById(Integer id) {
+        return id == null ? null : records.get(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return new ArrayList<>(records.values());
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return records.values().stream();
+    }
+
+    @Override
+    public List<T> findPageAfter(Integer afterId, int limit) {
+        Collection<T> tail = afterId == null ? records.values() : records.valuesAfter(afterId);
+        return tail.stream().limit(limit).collect(Collectors.toList());
+    }
+
+    @Override
+    public void save(T entity) {
+        int nextId = sequence.incrementAndGet();
+        setId(entity, nextId);
+        insert(nextId, entity);
+    }
+
+    /**
+     * Saves every entity with one reservation of a contiguous block of IDs,
+     * so bulk loads stay linear in the number of entities.
+     */
+    public void saveAll(Collection<? extends T> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        int nextId = sequence.getAndAdd(entities.size()) + 1;
+        for (T entity : entities) {
+            setId(entity, nextId);
+            insert(nextId, entity);
+            nextId++;
+        }
+    }
+
+    @Override
+    public void update(T entity) {
+        // Assuming the entity already exists. If not, this will overwrite.
+        int id = getId(entity);
+        Lock lock = idLocks.forKey(id);
+        lock.lock();
+        try {
+            T previous = store(entity);
+            changes.publish(previous == null ? ChangeType.INSERT : ChangeType.UPDATE, id, previous, entity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Integer id) {
+        if (id == null) {
+            return;
+        }
+        Lock lock = idLocks.forKey(id);
+        lock.lock();
+        try {
+            T previous = remove(id);
+            if (previous != null) {
+                changes.publish(ChangeType.DELETE, id, previous, null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ChangeBus<T> changes() {
+        return changes;
+    }
+
+    /**
+     * Stores an entity under the ID it already carries without publishing a change.
+     * Used for the hardcoded constructor data and when replaying persisted state.
+     */
+    public void restore(T entity) {
+        Lock lock = idLocks.forKey(getId(entity));
+        lock.lock();
+        try {
+            store(entity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an entity without publishing a change. Returns whether it was present.
+     */
+    public boolean restoreDelete(int id) {
+        Lock lock = idLocks.forKey(id);
+        lock.lock();
+        try {
+            return remove(id) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every entity without publishing changes, e.g. before loading a checkpoint.
+     */
+    public void restoreClear() {
+        for (T entity : records.values()) {
+            restoreDelete(getId(entity));
+        }
+    }
+
+    /**
+     * Entities held in memory. Together with {@link #tombstones()} this is what a checkpoint has to persist.
+     */
+    public Collection<T> residentEntities() {
+        return records.values();
+    }
+
+    /**
+     * IDs deleted from a backing store that is not held in memory; none by default.
+     */
+    public Set<Integer> tombstones() {
+        return Collections.emptySet();
+    }
+
+    public int getSequence() {
+        return sequence.get();
+    }
+
+    public void restoreSequence(int value) {
+        advanceSequence(value);
+    }
+
+    protected void seed(T entity) {
+        restore(entity);
+    }
+
+    /**
+     * Hook for subclasses that maintain secondary indexes; called after an entity is saved or updated.
+     */
+    protected void afterStore(int id, T entity) {
+    }
+
+    /**
+     * Hook for subclasses that maintain secondary indexes; called after an entity is deleted.
+     */
+    protected void afterRemove(int id, T previous) {
+    }
+
+    /**
+     * The lock that saves, updates and deletes of this ID hold, for subclasses that derive
+     * state from the records outside those calls.
+     */
+    protected Lock lockFor(int id) {
+        return idLocks.forKey(id);
+    }
+
+    /**
+     * Puts the entity under the ID it carries and returns what the storage held there.
+     */
+    protected T store(T entity) {
+        int id = getId(entity);
+        T previous = records.put(id, entity);
+        advanceSequence(id);
+        afterStore(id, entity);
+        return previous;
+    }
+
+    /**
+     * Removes the entity with the ID and returns it, or null if there was none.
+     */
+    protected T remove(int id) {
+        T previous = records.remove(id);
+        if (previous != null) {
+            afterRemove(id, previous);
+        }
+        return previous;
+    }
+
+    // A freshly drawn ID can still race an update() that names it, so inserts take its lock too
+    private void insert(int id, T entity) {
+        Lock lock = idLocks.forKey(id);
+        lock.lock();
+        try {
+            T previous = records.put(id, entity);
+            afterStore(id, entity);
+            changes.publish(previous == null ? ChangeType.INSERT : ChangeType.UPDATE, id, previous, entity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Keeps the sequence ahead of IDs that were assigned outside save()
+    private void advanceSequence(int id) {
+        sequence.accumulateAndGet(id, Math::max);
+    }
+}
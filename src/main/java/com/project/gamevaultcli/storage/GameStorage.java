@@ -1,50 +1,303 @@
-
 package com.project.gamevaultcli.storage;
 
 import com.project.gamevaultcli.entities.Game;
-import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.interfaces.RecordStore;
+import com.project.gamevaultcli.persistence.GameSnapshot;
+import com.project.gamevaultcli.search.GameSearchIndex;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class GameStorage extends ConcurrentStorage<Game> {
 
-public class GameStorage implements StorageInterface<Game, Integer>{
+    // Optional memory-mapped catalog; the in-memory records act as an overlay on top of it
+    private volatile GameSnapshot snapshot;
+    private final Set<Integer> deletedFromSnapshot = ConcurrentHashMap.newKeySet();
 
-    private final Map<Integer, Game> games = new HashMap<>(); // In-memory storage
+    // Derived indexes, kept current by the store/remove hooks; snapshot rows are indexed on first use
+    private final GameSearchIndex searchIndex = new GameSearchIndex();
+    private final SecondaryIndex<String> platformIndex = new SecondaryIndex<>();
+    private final SecondaryIndex<String> developerIndex = new SecondaryIndex<>();
+    private final SortedSecondaryIndex<Float> priceIndex = new SortedSecondaryIndex<>();
+    private volatile boolean snapshotIndexed = true;
 
     public GameStorage() {
+        this(new HeapRecordStore<>());
+    }
+
+    public GameStorage(RecordStore<Game> records) {
+        super(records);
         // Initialize with some hardcoded data
-        games.put(1, new Game(1, "Spider-Man Remastered", "Game created ?? lol lorem ipsum or wot", "Insomniac Games", "PC", 52.3f, new Date()));
-        games.put(2, new Game(2, "God of War", "A great game", "Santa Monica Studio", "PS4", 49.99f, new Date()));
+        seed(new Game(1, "Spider-Man Remastered", "Game created ?? lol lorem ipsum or wot", "Insomniac Games", "PC", 52.3f, new Date()));
+        seed(new Game(2, "God of War", "A great game", "Santa Monica Studio", "PS4", 49.99f, new Date()));
+    }
+
+    @Override
+    protected int getId(Game game) {
+        return game.getGameId();
+    }
+
+    @Override
+    protected void setId(Game game, int gameId) {
+        game.setGameId(gameId);
+    }
+
+    /**
+     * Serves the catalog from a snapshot instead of the hardcoded data. Games are decoded from the
+     * mapping on each read; saves, updates and deletes are kept in memory on top of it.
+     */
+    public void attachSnapshot(GameSnapshot snapshot) {
+        restoreClear();
+        this.snapshot = snapshot;
+        this.snapshotIndexed = false;
+        restoreSequence(snapshot.maxId());
+    }
+
+    public boolean hasSnapshot() {
+        return snapshot != null;
+    }
+
+    @Override
+    protected void afterStore(int gameId, Game game) {
+        searchIndex.index(game);
+        platformIndex.put(gameId, facetKey(game.getPlatform()));
+        developerIndex.put(gameId, facetKey(game.getDeveloper()));
+        priceIndex.put(gameId, game.getPrice());
+    }
+
+    @Override
+    protected void afterRemove(int gameId, Game game) {
+        searchIndex.remove(gameId);
+        platformIndex.remove(gameId);
+        developerIndex.remove(gameId);
+        priceIndex.remove(gameId);
+    }
+
+    /**
+     * Facet values are matched case-insensitively and ignoring surrounding whitespace.
+     */
+    public static String facetKey(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Set<Integer> findIdsByPlatform(String platform) {
+        ensureSnapshotIndexed();
+        return platformIndex.get(facetKey(platform));
+    }
+
+    public Set<Integer> findIdsByDeveloper(String developer) {
+        ensureSnapshotIndexed();
+        return developerIndex.get(facetKey(developer));
+    }
+
+    /**
+     * IDs of the games priced within [minPrice, maxPrice] in ascending price order; a null bound is open.
+     */
+    public Stream<Integer> findIdsByPriceRange(Float minPrice, Float maxPrice) {
+        ensureSnapshotIndexed();
+        return priceIndex.range(minPrice, maxPrice);
+    }
+
+    // Indexed facet values for one game, readable without loading the game itself
+    public String platformKeyOf(int gameId) {
+        ensureSnapshotIndexed();
+        return platformIndex.keyOf(gameId);
+    }
+
+    public String developerKeyOf(int gameId) {
+        ensureSnapshotIndexed();
+        return developerIndex.keyOf(gameId);
+    }
+
+    public Float priceOf(int gameId) {
+        ensureSnapshotIndexed();
+        return priceIndex.keyOf(gameId);
+    }
+
+    /**
+     * Full-text search over title, developer and description, best match first.
+     */
+    public List<Game> search(String query, int limit) {
+        ensureSnapshotIndexed();
+        List<Game> results = new ArrayList<>();
+        for (int gameId : searchIndex.search(query, limit)) {
+            Game game = findById(gameId);
+            if (game != null) {
+                results.add(game);
+            }
+        }
+        return results;
+    }
+
+    // Indexes the snapshot rows that are neither shadowed by the overlay nor deleted; each row is
+    // checked and indexed under its ID's lock, so a concurrent store or remove of it comes wholly before or after
+    private void ensureSnapshotIndexed() {
+        if (snapshotIndexed) {
+            return;
+        }
+        synchronized (searchIndex) {
+            GameSnapshot snap = snapshot;
+            if (!snapshotIndexed && snap != null) {
+                for (int row = 0; row < snap.size(); row++) {
+                    int gameId = snap.idAt(row);
+                    Lock lock = lockFor(gameId);
+                    lock.lock();
+                    try {
+                        if (!records.containsKey(gameId) && !deletedFromSnapshot.contains(gameId)) {
+                            afterStore(gameId, snap.read(row));
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+            snapshotIndexed = true;
+        }
     }
 
     @Override
     public Game findById(Integer gameId) {
-        return games.get(gameId);
+        Game game = super.findById(gameId);
+        GameSnapshot snap = snapshot;
+        if (game == null && gameId != null && snap != null && !deletedFromSnapshot.contains(gameId)) {
+            game = snap.findById(gameId);
+        }
+        return game;
     }
 
     @Override
     public List<Game> findAll() {
-        return new ArrayList<>(games.values());
+        if (snapshot == null) {
+            return super.findAll();
+        }
+        return stream().collect(Collectors.toList());
     }
 
     @Override
-    public void save(Game game) {
-        int nextId = games.keySet().stream().max(Integer::compare).orElse(0) + 1;
-        game.setGameId(nextId);
-        games.put(nextId, game);
+    public Stream<Game> stream() {
+        GameSnapshot snap = snapshot;
+        if (snap == null) {
+            return super.stream();
+        }
+        return merged(snap, null);
     }
 
     @Override
-    public void update(Game game) {
-        // Assuming the game already exists. If not, this will overwrite.
-        games.put(game.getGameId(), game);
+    public List<Game> findPageAfter(Integer afterId, int limit) {
+        GameSnapshot snap = snapshot;
+        if (snap == null) {
+            return super.findPageAfter(afterId, limit);
+        }
+        return merged(snap, afterId).limit(limit).collect(Collectors.toList());
     }
 
+    // A game stored over a snapshot row shadows it, so that row is what it replaces
     @Override
-    public void delete(Integer gameId) {
-        games.remove(gameId);
+    protected Game store(Game game) {
+        boolean deleted = deletedFromSnapshot.remove(game.getGameId());
+        Game previous = super.store(game);
+        GameSnapshot snap = snapshot;
+        if (previous == null && !deleted && snap != null) {
+            previous = snap.findById(game.getGameId());
+        }
+        return previous;
+    }
+
+    @Override
+    protected Game remove(int gameId) {
+        Game previous = super.remove(gameId);
+        GameSnapshot snap = snapshot;
+        if (snap != null && deletedFromSnapshot.add(gameId)) {
+            Game fromSnapshot = snap.findById(gameId);
+            if (fromSnapshot == null) {
+                deletedFromSnapshot.remove(gameId);
+            } else if (previous == null) {
+                afterRemove(gameId, fromSnapshot);
+                previous = fromSnapshot;
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public void restoreClear() {
+        super.restoreClear();
+        deletedFromSnapshot.clear();
+    }
+
+    @Override
+    public Set<Integer> tombstones() {
+        return Collections.unmodifiableSet(deletedFromSnapshot);
+    }
+
+    // Merges the overlay and the snapshot rows in ID order; overlay entries shadow snapshot rows
+    private Stream<Game> merged(GameSnapshot snap, Integer afterId) {
+        Iterator<Game> overlay = (afterId == null ? records.values() : records.valuesAfter(afterId)).iterator();
+        int firstRow = 0;
+        if (afterId != null) {
+            int row = snap.findRow(afterId);
+            firstRow = row >= 0 ? row + 1 : -(row + 1);
+        }
+        Iterator<Game> iterator = new MergedIterator(snap, overlay, firstRow);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private final class MergedIterator implements Iterator<Game> {
+        private final GameSnapshot snap;
+        private final Iterator<Game> overlay;
+        private Game nextOverlay;
+        private int row;
+
+        private MergedIterator(GameSnapshot snap, Iterator<Game> overlay, int firstRow) {
+            this.snap = snap;
+            this.overlay = overlay;
+            this.row = firstRow;
+            this.nextOverlay = overlay.hasNext() ? overlay.next() : null;
+            skipDeletedRows();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextOverlay != null || row < snap.size();
+        }
+
+        @Override
+        public Game next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long snapshotId = row < snap.size() ? snap.idAt(row) : Long.MAX_VALUE;
+            Game game;
+            if (nextOverlay != null && nextOverlay.getGameId() <= snapshotId) {
+                game = nextOverlay;
+                if (game.getGameId() == snapshotId) {
+                    row++;
+                }
+                nextOverlay = overlay.hasNext() ? overlay.next() : null;
+            } else {
+                game = snap.read(row++);
+            }
+            skipDeletedRows();
+            return game;
+        }
+
+        private void skipDeletedRows() {
+            while (row < snap.size() && deletedFromSnapshot.contains(snap.idAt(row))) {
+                row++;
+            }
+        }
     }
 }
@@ -0,0 +1,99 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.interfaces.RecordStore;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Default record store: the entities themselves in a concurrent map ordered by ID.
+ * <p>
+ * With a copier it keeps its own copy of every record and hands out copies, like the disk
+ * store does, so changing an entity in place never changes what is stored and the previous
+ * record returned by {@code put} is what was stored before.
+ */
+class HeapRecordStore<T> implements RecordStore<T> {
+
+    private final ConcurrentNavigableMap<Integer, T> map = new ConcurrentSkipListMap<>();
+    private final UnaryOperator<T> copier; // null when the entities themselves are stored
+
+    HeapRecordStore() {
+        this(null);
+    }
+
+    HeapRecordStore(UnaryOperator<T> copier) {
+        this.copier = copier;
+    }
+
+    @Override
+    public T get(int id) {
+        return copy(map.get(id));
+    }
+
+    @Override
+    public T put(int id, T record) {
+        return map.put(id, copier == null ? record : copier.apply(record));
+    }
+
+    @Override
+    public T remove(int id) {
+        return map.remove(id);
+    }
+
+    @Override
+    public boolean containsKey(int id) {
+        return map.containsKey(id);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Collection<T> values() {
+        return view(map.values());
+    }
+
+    @Override
+    public Collection<T> valuesAfter(int afterId) {
+        return view(map.tailMap(afterId, false).values());
+    }
+
+    private T copy(T record) {
+        return copier == null || record == null ? record : copier.apply(record);
+    }
+
+    private Collection<T> view(Collection<T> records) {
+        if (copier == null) {
+            return Collections.unmodifiableCollection(records);
+        }
+        return new AbstractCollection<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                Iterator<T> iterator = records.iterator();
+                return new Iterator<T>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return copier.apply(iterator.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return records.size();
+            }
+        };
+    }
+}
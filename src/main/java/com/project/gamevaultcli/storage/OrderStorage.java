@@ -6,46 +6,61 @@ package com.project.gamevaultcli.storage;
 
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.entities.Order;
-import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.entities.OrderLineItems;
+import com.project.gamevaultcli.interfaces.RecordStore;
 
 import java.util.*;
 
-public class OrderStorage implements StorageInterface<Order, Integer>{
+public class OrderStorage extends ConcurrentStorage<Order> {
 
-    private final Map<Integer, Order> orders = new HashMap<>(); // In-memory storage
+    private final SecondaryIndex<Integer> userIndex = new SecondaryIndex<>(); // userId -> orderIds
 
+    // Orders are copied in and out, so an order changed in place still publishes its before image
     public OrderStorage() {
+        this(new HeapRecordStore<>(OrderStorage::copyOf));
+    }
+
+    public OrderStorage(RecordStore<Order> records) {
+        super(records);
         // Initialize with some hardcoded data
         List<Game> games1 = new ArrayList<>();
         games1.add(new Game(1, "Game 1", "Description 1", "Developer 1", "PC", 20.0f, null));
-        orders.put(1, new Order(1, 1, games1, 20.0, new Date()));
+        seed(new Order(1, 1, OrderLineItems.of(games1), 20.0, new Date()));
     }
 
-    @Override
-    public Order findById(Integer orderId) {
-        return orders.get(orderId);
+    static Order copyOf(Order order) {
+        Date orderDate = order.getOrderDate() == null ? null : new Date(order.getOrderDate().getTime());
+        return new Order(order.getOrderId(), order.getUserId(), order.getItems(), order.getTotalAmount(), orderDate);
     }
 
     @Override
-    public List<Order> findAll() {
-        return new ArrayList<>(orders.values());
+    protected int getId(Order order) {
+        return order.getOrderId();
     }
 
     @Override
-    public void save(Order order) {
-        int nextId = orders.keySet().stream().max(Integer::compare).orElse(0) + 1;
-        order.setOrderId(nextId);
-        orders.put(nextId, order);
+    protected void setId(Order order, int orderId) {
+        order.setOrderId(orderId);
     }
 
     @Override
-    public void update(Order order) {
-        // Assuming the order already exists.  If not, this will overwrite.
-        orders.put(order.getOrderId(), order);
+    protected void afterStore(int orderId, Order order) {
+        userIndex.put(orderId, order.getUserId());
     }
 
     @Override
-    public void delete(Integer orderId) {
-        orders.remove(orderId);
+    protected void afterRemove(int orderId, Order order) {
+        userIndex.remove(orderId);
+    }
+
+    public List<Order> findByUserId(int userId) {
+        List<Order> userOrders = new ArrayList<>();
+        for (int orderId : userIndex.get(userId)) {
+            Order order = records.get(orderId);
+            if (order != null) {
+                userOrders.add(order);
+            }
+        }
+        return userOrders;
     }
 }
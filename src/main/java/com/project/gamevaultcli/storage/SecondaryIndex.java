@@ -0,0 +1,129 @@
+package com.project.gamevaultcli.storage;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps a secondary key (e.g. a user ID) to the IDs of the records carrying it.
+ * Also remembers each record's current key, so updates that change the key
+ * and deletes can unlink the record without being told the old value. Each key's ID set
+ * keeps a count beside it, so its size() is O(1).
+ */
+public class SecondaryIndex<K> {
+
+    protected final Map<K, Set<Integer>> idsByKey;
+    private final Map<Integer, K> keyById = new ConcurrentHashMap<>();
+
+    public SecondaryIndex() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    protected SecondaryIndex(Map<K, Set<Integer>> idsByKey) {
+        this.idsByKey = idsByKey;
+    }
+
+    public void put(int id, K key) {
+        if (key == null) {
+            remove(id);
+            return;
+        }
+        K previous = keyById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            unlink(previous, id);
+        }
+        idsByKey.compute(key, (k, ids) -> {
+            if (ids == null) {
+                ids = new CountedIdSet();
+            }
+            ids.add(id);
+            return ids;
+        });
+    }
+
+    public void remove(int id) {
+        K previous = keyById.remove(id);
+        if (previous != null) {
+            unlink(previous, id);
+        }
+    }
+
+    public Set<Integer> get(K key) {
+        if (key == null) {
+            return Collections.emptySet();
+        }
+        Set<Integer> ids = idsByKey.get(key);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+
+    public K keyOf(int id) {
+        return keyById.get(id);
+    }
+
+    private void unlink(K key, int id) {
+        idsByKey.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // A concurrent skip-list set, whose own size() walks every element, with a counter beside it
+    private static final class CountedIdSet extends AbstractSet<Integer> {
+        private final ConcurrentSkipListSet<Integer> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public boolean add(Integer id) {
+            if (!ids.add(id)) {
+                return false;
+            }
+            count.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object id) {
+            if (!ids.remove(id)) {
+                return false;
+            }
+            count.decrementAndGet();
+            return true;
+        }
+
+        @Override
+        public boolean contains(Object id) {
+            return ids.contains(id);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return ids.isEmpty(); // The count lags an add in progress
+        }
+
+        @Override
+        public int size() {
+            return count.get();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            Iterator<Integer> delegate = ids.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return delegate.hasNext();
+                }
+
+                @Override
+                public Integer next() {
+                    return delegate.next();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.gamevaultcli.storage;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Secondary index whose keys are kept sorted, so range lookups cost O(log n + k).
+ */
+public class SortedSecondaryIndex<K extends Comparable<K>> extends SecondaryIndex<K> {
+
+    public SortedSecondaryIndex() {
+        super(new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * IDs of the records whose key lies in [from, to], in key order. A null bound is open.
+     */
+    public Stream<Integer> range(K from, K to) {
+        ConcurrentNavigableMap<K, Set<Integer>> sorted = (ConcurrentNavigableMap<K, Set<Integer>>) idsByKey;
+        if (from != null && to != null) {
+            if (from.compareTo(to) > 0) {
+                return Stream.empty();
+            }
+            sorted = sorted.subMap(from, true, to, true);
+        } else if (from != null) {
+            sorted = sorted.tailMap(from, true);
+        } else if (to != null) {
+            sorted = sorted.headMap(to, true);
+        }
+        return sorted.values().stream().flatMap(Set::stream);
+    }
+}
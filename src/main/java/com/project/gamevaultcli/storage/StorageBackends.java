@@ -0,0 +1,112 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.interfaces.RecordStore;
+import com.project.gamevaultcli.metrics.Metrics;
+import com.project.gamevaultcli.persistence.EntityCodec;
+import com.project.gamevaultcli.persistence.EntityCodecs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Chooses where each storage keeps its records: on the heap, or in a {@link BTreeRecordStore}
+ * file when the data set does not fit in memory.
+ * <p>
+ * {@code gamevault.storage} picks the backend ({@code heap} or {@code disk}) for every entity
+ * and {@code gamevault.storage.<entity>} overrides it for one of users, games, carts, orders
+ * and transactions. Files go to {@code gamevault.storage.dir}, and each keeps up to
+ * {@code gamevault.storage.cachePages} pages of 8 KiB in memory.
+ */
+public class StorageBackends {
+
+    public enum Backend {
+        HEAP, DISK
+    }
+
+    private static final String[] ENTITIES = {"users", "games", "carts", "orders", "transactions"};
+
+    private final Backend defaultBackend;
+    private final Map<String, Backend> overrides;
+    private final Path directory;
+    private final int cachePages;
+
+    public StorageBackends(Backend defaultBackend, Map<String, Backend> overrides, Path directory, int cachePages) {
+        this.defaultBackend = defaultBackend;
+        this.overrides = new HashMap<>(overrides);
+        this.directory = directory;
+        this.cachePages = cachePages;
+    }
+
+    // Everything on the heap
+    public static StorageBackends heap() {
+        return new StorageBackends(Backend.HEAP, new HashMap<>(), null, 0);
+    }
+
+    public static StorageBackends fromSystemProperties() {
+        Backend defaultBackend = backend(System.getProperty("gamevault.storage", "heap"));
+        Map<String, Backend> overrides = new HashMap<>();
+        for (String entity : ENTITIES) {
+            String value = System.getProperty("gamevault.storage." + entity);
+            if (value != null) {
+                overrides.put(entity, backend(value));
+            }
+        }
+        return new StorageBackends(defaultBackend, overrides, Paths.get(System.getProperty("gamevault.storage.dir", "gamevault-data")),
+                Integer.getInteger("gamevault.storage.cachePages", 4096));
+    }
+
+    public Backend backendFor(String entity) {
+        return overrides.getOrDefault(entity, defaultBackend);
+    }
+
+    public UserStorage users() {
+        return new UserStorage(open("users", EntityCodecs.USER, HeapRecordStore::new));
+    }
+
+    public GameStorage games() {
+        return new GameStorage(open("games", EntityCodecs.GAME, HeapRecordStore::new));
+    }
+
+    public CartStorage carts() {
+        return new CartStorage(open("carts", EntityCodecs.CART, HeapRecordStore::new));
+    }
+
+    public OrderStorage orders() {
+        return new OrderStorage(open("orders", EntityCodecs.ORDER, () -> new HeapRecordStore<>(OrderStorage::copyOf)));
+    }
+
+    public TransactionStorage transactions() {
+        return new TransactionStorage(open("transactions", EntityCodecs.TRANSACTION, TransactionLedger::new));
+    }
+
+    // On disk, the page cache shows up in the stats next to the entity caches
+    private <T> RecordStore<T> open(String entity, EntityCodec<T> codec, Supplier<RecordStore<T>> inMemory) {
+        if (backendFor(entity) == Backend.HEAP) {
+            return inMemory.get();
+        }
+        try {
+            Files.createDirectories(directory);
+            BTreeRecordStore<T> store = BTreeRecordStore.create(directory.resolve(entity + ".btree"), codec, cachePages);
+            String name = entity + ".pages";
+            Metrics.registerCache(name, () -> store.getCacheStats(name));
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the " + entity + " store in " + directory, e);
+        }
+    }
+
+    private static Backend backend(String value) {
+        try {
+            return Backend.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown storage backend '" + value + "', expected heap or disk");
+        }
+    }
+}
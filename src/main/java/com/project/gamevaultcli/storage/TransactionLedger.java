@@ -0,0 +1,525 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.interfaces.RecordStore;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Column-oriented record store for transactions. Each field lives in its own primitive array,
+ * one row per transaction in ascending ID order: IDs, user and game IDs, the amount in whole
+ * cents, the date in epoch milliseconds (UTC) and the type as a code into a small dictionary.
+ * That is about 30 bytes per transaction instead of the entity object and its boxed fields.
+ * <p>
+ * A {@link Transaction} is only built when a caller asks for one. It is a copy of the row, so
+ * changing it has no effect until it is passed to {@code update}; reads that must not allocate
+ * go through {@link #scan} instead. Amounts are kept to the cent and dates to the millisecond.
+ * Missing values are stored as sentinels and come back as null.
+ * <p>
+ * One read-write lock guards the columns, since growing them replaces every array and an
+ * out-of-order insert shifts all the rows after it. Writers hold it only to change the columns;
+ * the copies they return are built after it is released.
+ * <p>
+ * Deleting a row only marks it; marked rows are squeezed out once they make up half the table.
+ */
+public class TransactionLedger implements RecordStore<Transaction> {
+
+    public static final int NULL_INT = Integer.MIN_VALUE;
+    public static final long NULL_LONG = Long.MIN_VALUE;
+    public static final int NULL_TYPE = -1;
+    private static final short DELETED = -2;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MIN_COMPACT_ROWS = 1024;
+    private static final int VIEW_BATCH = 256;
+    private static final int SCAN_SPLIT_ROWS = 1 << 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> typeNames = new ArrayList<>();
+    private final Map<String, Short> typeCodes = new HashMap<>();
+    private final Map<Integer, IdList> idsByUser = new HashMap<>(); // userId -> transactionIds
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] userIds = new int[INITIAL_CAPACITY];
+    private int[] gameIds = new int[INITIAL_CAPACITY];
+    private long[] amountCents = new long[INITIAL_CAPACITY];
+    private long[] epochMillis = new long[INITIAL_CAPACITY];
+    private short[] types = new short[INITIAL_CAPACITY];
+    private int rows; // rows in use, including the ones marked deleted
+    private int deletedRows;
+
+    /**
+     * Receives one row at a time from {@link #scan}. Missing values arrive as
+     * {@link #NULL_INT}, {@link #NULL_LONG} or {@link #NULL_TYPE}.
+     */
+    public interface RowVisitor {
+        void visit(int transactionId, int userId, int gameId, long amountCents, long epochMillis, int typeCode);
+    }
+
+    @Override
+    public Transaction get(int id) {
+        lock.readLock().lock();
+        try {
+            int row = liveRow(id);
+            return row < 0 ? null : copyRow(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Transaction put(int id, Transaction transaction) {
+        int userId = intOrNull(transaction.getUserId());
+        int gameId = intOrNull(transaction.getGameId());
+        long cents = toCents(transaction.getAmount());
+        long millis = toEpochMillis(transaction.getTransactionDate());
+        boolean replaced = false;
+        int previousUserId = NULL_INT;
+        int previousGameId = NULL_INT;
+        long previousCents = NULL_LONG;
+        long previousMillis = NULL_LONG;
+        String previousType = null;
+        lock.writeLock().lock();
+        try {
+            short type = typeCode(transaction.getTransactionType());
+            int row = Arrays.binarySearch(ids, 0, rows, id);
+            if (row >= 0) {
+                if (types[row] == DELETED) {
+                    deletedRows--;
+                } else {
+                    replaced = true;
+                    previousUserId = userIds[row];
+                    previousGameId = gameIds[row];
+                    previousCents = amountCents[row];
+                    previousMillis = epochMillis[row];
+                    previousType = nameOf(types[row]);
+                    unindex(userIds[row], id);
+                }
+            } else {
+                row = -(row + 1);
+                insertRow(row);
+                ids[row] = id;
+            }
+            userIds[row] = userId;
+            gameIds[row] = gameId;
+            amountCents[row] = cents;
+            epochMillis[row] = millis;
+            types[row] = type;
+            idsByUser.computeIfAbsent(userId, key -> new IdList()).add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return replaced ? copy(id, previousUserId, previousGameId, previousType, previousCents, previousMillis) : null;
+    }
+
+    @Override
+    public Transaction remove(int id) {
+        int previousUserId;
+        int previousGameId;
+        long previousCents;
+        long previousMillis;
+        String previousType;
+        lock.writeLock().lock();
+        try {
+            int row = liveRow(id);
+            if (row < 0) {
+                return null;
+            }
+            previousUserId = userIds[row];
+            previousGameId = gameIds[row];
+            previousCents = amountCents[row];
+            previousMillis = epochMillis[row];
+            previousType = nameOf(types[row]);
+            unindex(userIds[row], id);
+            types[row] = DELETED;
+            deletedRows++;
+            // Rows at the end can go straight away, which keeps insert-then-delete cheap
+            while (rows > 0 && types[rows - 1] == DELETED) {
+                rows--;
+                deletedRows--;
+            }
+            if (deletedRows >= MIN_COMPACT_ROWS && deletedRows * 2 > rows) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return copy(id, previousUserId, previousGameId, previousType, previousCents, previousMillis);
+    }
+
+    @Override
+    public boolean containsKey(int id) {
+        lock.readLock().lock();
+        try {
+            return liveRow(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - deletedRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<Transaction> values() {
+        return new Rows(null);
+    }
+
+    @Override
+    public Collection<Transaction> valuesAfter(int afterId) {
+        return new Rows(afterId);
+    }
+
+    /**
+     * Transactions of one user in ID order, looked up through a per-user list of IDs.
+     */
+    public List<Transaction> findByUserId(int userId) {
+        lock.readLock().lock();
+        try {
+            IdList transactionIds = idsByUser.get(userId);
+            if (transactionIds == null) {
+                return new ArrayList<>();
+            }
+            List<Transaction> transactions = new ArrayList<>(transactionIds.count);
+            for (int i = 0; i < transactionIds.count; i++) {
+                int row = liveRow(transactionIds.ids[i]);
+                if (row >= 0) {
+                    transactions.add(copyRow(row));
+                }
+            }
+            return transactions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Feeds every row to the visitor in ID order straight from the columns, without building
+     * any objects. The ledger is read-locked meanwhile, so the visitor must not write to it.
+     */
+    public void scan(RowVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rows; row++) {
+                if (types[row] != DELETED) {
+                    visitor.visit(ids[row], userIds[row], gameIds[row], amountCents[row], epochMillis[row], types[row]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Like {@link #scan}, but the rows are cut into ranges that are visited in parallel on the
+     * pool. Every range gets its own visitor from the supplier, and the visitors are combined
+     * pairwise into the result. Writers wait until the whole scan is done.
+     */
+    public <V extends RowVisitor> V parallelScan(ForkJoinPool pool, Supplier<V> supplier, BinaryOperator<V> combiner) {
+        lock.readLock().lock();
+        try {
+            return pool.invoke(new ScanTask<>(0, rows, supplier, combiner));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The transaction type a code from {@link #scan} stands for; null for {@link #NULL_TYPE}.
+     */
+    public String typeName(int typeCode) {
+        lock.readLock().lock();
+        try {
+            return nameOf(typeCode);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String nameOf(int typeCode) {
+        return typeCode == NULL_TYPE ? null : typeNames.get(typeCode);
+    }
+
+    private int liveRow(int id) {
+        int row = Arrays.binarySearch(ids, 0, rows, id);
+        return row >= 0 && types[row] != DELETED ? row : -1;
+    }
+
+    // A new Transaction holding the row's values, which the caller owns
+    private Transaction copyRow(int row) {
+        return copy(ids[row], userIds[row], gameIds[row], nameOf(types[row]), amountCents[row], epochMillis[row]);
+    }
+
+    private static Transaction copy(int id, int userId, int gameId, String type, long cents, long millis) {
+        return new Transaction(id,
+                userId == NULL_INT ? null : userId,
+                gameId == NULL_INT ? null : gameId,
+                type,
+                cents == NULL_LONG ? null : cents / 100f,
+                millis == NULL_LONG ? null : toDate(millis));
+    }
+
+    // Opens a gap at the given row; IDs mostly arrive in order, so this is usually an append
+    private void insertRow(int row) {
+        if (rows == ids.length) {
+            int capacity = rows + (rows >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            gameIds = Arrays.copyOf(gameIds, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            epochMillis = Arrays.copyOf(epochMillis, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        int tail = rows - row;
+        if (tail > 0) {
+            System.arraycopy(ids, row, ids, row + 1, tail);
+            System.arraycopy(userIds, row, userIds, row + 1, tail);
+            System.arraycopy(gameIds, row, gameIds, row + 1, tail);
+            System.arraycopy(amountCents, row, amountCents, row + 1, tail);
+            System.arraycopy(epochMillis, row, epochMillis, row + 1, tail);
+            System.arraycopy(types, row, types, row + 1, tail);
+        }
+        rows++;
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int row = 0; row < rows; row++) {
+            if (types[row] != DELETED) {
+                ids[kept] = ids[row];
+                userIds[kept] = userIds[row];
+                gameIds[kept] = gameIds[row];
+                amountCents[kept] = amountCents[row];
+                epochMillis[kept] = epochMillis[row];
+                types[kept] = types[row];
+                kept++;
+            }
+        }
+        rows = kept;
+        deletedRows = 0;
+    }
+
+    private short typeCode(String type) {
+        if (type == null) {
+            return NULL_TYPE;
+        }
+        Short code = typeCodes.get(type);
+        if (code == null) {
+            if (typeNames.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct transaction types");
+            }
+            code = (short) typeNames.size();
+            typeNames.add(type);
+            typeCodes.put(type, code);
+        }
+        return code;
+    }
+
+    private void unindex(int userId, int id) {
+        IdList transactionIds = idsByUser.get(userId);
+        if (transactionIds != null && transactionIds.remove(id) && transactionIds.count == 0) {
+            idsByUser.remove(userId);
+        }
+    }
+
+    static int intOrNull(Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    static long toCents(Float amount) {
+        return amount == null ? NULL_LONG : Math.round(amount * 100.0);
+    }
+
+    static long toEpochMillis(LocalDateTime date) {
+        return date == null ? NULL_LONG : date.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDate(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000), Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    // Sorted, growable list of transaction IDs for one user
+    private static final class IdList {
+        private int[] ids = new int[4];
+        private int count;
+
+        private void add(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            int index = count == 0 || id > ids[count - 1] ? count : -(Arrays.binarySearch(ids, 0, count, id) + 1);
+            if (index < 0) {
+                return; // already present
+            }
+            System.arraycopy(ids, index, ids, index + 1, count - index);
+            ids[index] = id;
+            count++;
+        }
+
+        private boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, count, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, count - index - 1);
+            count--;
+            return true;
+        }
+    }
+
+    /**
+     * Live, read-only view of the rows after an ID. Iterators copy a batch of rows at a time
+     * under the read lock and pick up after the last ID they returned, so concurrent writes
+     * never invalidate them.
+     */
+    private final class Rows extends AbstractCollection<Transaction> {
+        private final Integer afterId;
+
+        private Rows(Integer afterId) {
+            this.afterId = afterId;
+        }
+
+        @Override
+        public Iterator<Transaction> iterator() {
+            return new RowIterator(afterId);
+        }
+
+        @Override
+        public Spliterator<Transaction> spliterator() {
+            return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public int size() {
+            if (afterId == null) {
+                return TransactionLedger.this.size();
+            }
+            lock.readLock().lock();
+            try {
+                int count = 0;
+                for (int row = firstRowAfter(afterId); row < rows; row++) {
+                    if (types[row] != DELETED) {
+                        count++;
+                    }
+                }
+                return count;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    // Runs while the thread that started the scan holds the read lock, so the columns stay put
+    private final class ScanTask<V extends RowVisitor> extends RecursiveTask<V> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+        private final Supplier<V> supplier;
+        private final BinaryOperator<V> combiner;
+
+        private ScanTask(int from, int to, Supplier<V> supplier, BinaryOperator<V> combiner) {
+            this.from = from;
+            this.to = to;
+            this.supplier = supplier;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected V compute() {
+            if (to - from <= SCAN_SPLIT_ROWS) {
+                V visitor = supplier.get();
+                for (int row = from; row < to; row++) {
+                    if (types[row] != DELETED) {
+                        visitor.visit(ids[row], userIds[row], gameIds[row], amountCents[row], epochMillis[row], types[row]);
+                    }
+                }
+                return visitor;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask<V> left = new ScanTask<>(from, middle, supplier, combiner);
+            left.fork();
+            V right = new ScanTask<>(middle, to, supplier, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+
+    private int firstRowAfter(int id) {
+        int row = Arrays.binarySearch(ids, 0, rows, id);
+        return row >= 0 ? row + 1 : -(row + 1);
+    }
+
+    private final class RowIterator implements Iterator<Transaction> {
+        private final List<Transaction> batch = new ArrayList<>(VIEW_BATCH);
+        private Integer lastId;
+        private int position;
+        private boolean exhausted;
+
+        private RowIterator(Integer afterId) {
+            this.lastId = afterId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < batch.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            fill();
+            return position < batch.size();
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(position++);
+        }
+
+        private void fill() {
+            batch.clear();
+            position = 0;
+            lock.readLock().lock();
+            try {
+                int first = lastId == null ? 0 : firstRowAfter(lastId);
+                int row = first;
+                for (; row < rows && batch.size() < VIEW_BATCH; row++) {
+                    if (types[row] != DELETED) {
+                        batch.add(copyRow(row));
+                    }
+                }
+                exhausted = row >= rows;
+                if (row > first) {
+                    lastId = ids[row - 1];
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
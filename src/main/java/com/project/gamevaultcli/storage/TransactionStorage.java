@@ -6,48 +6,125 @@ package com.project.gamevaultcli.storage;
 
 
 import com.project.gamevaultcli.entities.Transaction;
-import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.interfaces.RecordStore;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
-public class TransactionStorage implements StorageInterface<Transaction, Integer> {
+/**
+ * Transactions are kept column by column in a {@link TransactionLedger} rather than as objects,
+ * so what comes back from this storage is a copy that only changes through {@code update}.
+ * Another record store, e.g. one on disk, works too: per-user lookups then go through a
+ * secondary index and scans walk the records one by one.
+ */
+public class TransactionStorage extends ConcurrentStorage<Transaction> {
 
-    private final Map<Integer, Transaction> transactions = new HashMap<>(); // In-memory storage
+    private final TransactionLedger ledger; // null unless the records are kept in a ledger
+    private final SecondaryIndex<Integer> userIndex = new SecondaryIndex<>(); // userId -> transactionIds, without a ledger
+    private final List<String> typeNames = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> typeCodes = new ConcurrentHashMap<>();
 
     public TransactionStorage() {
+        this(new TransactionLedger());
+    }
+
+    public TransactionStorage(RecordStore<Transaction> records) {
+        super(records);
+        this.ledger = records instanceof TransactionLedger ? (TransactionLedger) records : null;
         // Initialize with some hardcoded data
-        transactions.put(1, new Transaction(1, 1, 1, "Purchase", 52.3f, LocalDateTime.now()));
+        seed(new Transaction(1, 1, 1, "Purchase", 52.3f, LocalDateTime.now()));
     }
 
     @Override
-    public Transaction findById(Integer transactionId) {
-        return transactions.get(transactionId);
+    protected int getId(Transaction transaction) {
+        return transaction.getTransactionId();
     }
 
     @Override
-    public List<Transaction> findAll() {
-        return new ArrayList<>(transactions.values());
+    protected void setId(Transaction transaction, int transactionId) {
+        transaction.setTransactionId(transactionId);
     }
 
     @Override
-    public void save(Transaction transaction) {
-        int nextId = transactions.keySet().stream().max(Integer::compare).orElse(0) + 1;
-        transaction.setTransactionId(nextId);
-        transactions.put(nextId, transaction);
+    protected void afterStore(int transactionId, Transaction transaction) {
+        if (ledger == null) {
+            userIndex.put(transactionId, transaction.getUserId());
+        }
     }
 
     @Override
-    public void update(Transaction transaction) {
-        // Assuming the transaction already exists. If not, this will overwrite.
-        transactions.put(transaction.getTransactionId(), transaction);
+    protected void afterRemove(int transactionId, Transaction transaction) {
+        if (ledger == null) {
+            userIndex.remove(transactionId);
+        }
     }
 
-    @Override
-    public void delete(Integer transactionId) {
-        transactions.remove(transactionId);
+    public List<Transaction> findByUserId(int userId) {
+        if (ledger != null) {
+            return ledger.findByUserId(userId);
+        }
+        List<Transaction> userTransactions = new ArrayList<>();
+        for (int transactionId : userIndex.get(userId)) {
+            Transaction transaction = records.get(transactionId);
+            if (transaction != null) {
+                userTransactions.add(transaction);
+            }
+        }
+        return userTransactions;
+    }
+
+    /**
+     * Visits every transaction as primitive columns, without building Transaction objects
+     * when they are kept in a ledger.
+     */
+    public void scan(TransactionLedger.RowVisitor visitor) {
+        if (ledger != null) {
+            ledger.scan(visitor);
+            return;
+        }
+        for (Transaction transaction : records.values()) {
+            visitor.visit(transaction.getTransactionId(), TransactionLedger.intOrNull(transaction.getUserId()),
+                    TransactionLedger.intOrNull(transaction.getGameId()), TransactionLedger.toCents(transaction.getAmount()),
+                    TransactionLedger.toEpochMillis(transaction.getTransactionDate()), typeCode(transaction.getTransactionType()));
+        }
+    }
+
+    /**
+     * Parallel version of {@link #scan}: each range of rows gets its own visitor, combined into the result.
+     * Without a ledger this is a single sequential scan.
+     */
+    public <V extends TransactionLedger.RowVisitor> V parallelScan(ForkJoinPool pool, Supplier<V> supplier, BinaryOperator<V> combiner) {
+        if (ledger != null) {
+            return ledger.parallelScan(pool, supplier, combiner);
+        }
+        V visitor = supplier.get();
+        scan(visitor);
+        return visitor;
+    }
+
+    public String transactionTypeName(int typeCode) {
+        if (ledger != null) {
+            return ledger.typeName(typeCode);
+        }
+        return typeCode == TransactionLedger.NULL_TYPE ? null : typeNames.get(typeCode);
+    }
+
+    private int typeCode(String type) {
+        if (type == null) {
+            return TransactionLedger.NULL_TYPE;
+        }
+        return typeCodes.computeIfAbsent(type, name -> {
+            synchronized (typeNames) {
+                typeNames.add(name);
+                return typeNames.size() - 1;
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -5,49 +5,30 @@
 package com.project.gamevaultcli.storage;
 
 import com.project.gamevaultcli.entities.User;
-import com.project.gamevaultcli.interfaces.StorageInterface;
+import com.project.gamevaultcli.interfaces.RecordStore;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
-public class UserStorage implements StorageInterface<User, Integer>{
-
-    private final Map<Integer, User> users = new HashMap<>(); // In-memory storage
+public class UserStorage extends ConcurrentStorage<User> {
 
     public UserStorage() {
-        // Initialize with some hardcoded data
-        users.put(1, new User(1, "sasuke@gmail.com", "is this my password?", "Sasuke", 50.0f, new Date()));
-        users.put(2, new User(2, "naruto@gmail.com", "believeit", "Naruto", 100.0f, new Date()));
-    }
-
-    @Override
-    public User findById(Integer userId) {
-        return users.get(userId);
+        this(new HeapRecordStore<>());
     }
 
-    @Override
-    public List<User> findAll() {
-        return new ArrayList<>(users.values());
-    }
-
-    @Override
-    public void save(User user) {
-        int nextId = users.keySet().stream().max(Integer::compare).orElse(0) + 1;
-        user.setUserId(nextId);
-        users.put(nextId, user);
+    public UserStorage(RecordStore<User> records) {
+        super(records);
+        // Initialize with some hardcoded data
+        seed(new User(1, "sasuke@gmail.com", "is this my password?", "Sasuke", 50.0f, new Date()));
+        seed(new User(2, "naruto@gmail.com", "believeit", "Naruto", 100.0f, new Date()));
     }
 
     @Override
-    public void update(User user) {
-        // Assuming the user already exists. If not, this will overwrite.
-        users.put(user.getUserId(), user);
+    protected int getId(User user) {
+        return user.getUserId();
     }
 
     @Override
-    public void delete(Integer userId) {
-        users.remove(userId);
+    protected void setId(User user, int userId) {
+        user.setUserId(userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.project.gamevaultcli.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer, on a ring of slots that
+ * each carry a sequence number. A producer claims a position with one compare-and-set on the
+ * tail and publishes its element by advancing the slot's sequence; the consumer takes slots
+ * in position order and hands them back a lap later. Nobody ever blocks, so a full queue is
+ * reported to the producer rather than waited out.
+ */
+public class BoundedMpscQueue<E> {
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // Only the consumer writes it
+
+    public BoundedMpscQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends the element and returns the position it got, counting from 0 in the order
+     * elements will be taken, or -1 if the queue is full.
+     */
+    public long offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(slot, element);
+                    sequences.set(slot, position + 1);
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1; // The slot still holds the element from one lap ago
+            } else {
+                position = tail.get(); // Another producer claimed this position first
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest element, or returns null if there is none. Only one thread may call this.
+     */
+    public E poll() {
+        long position = head;
+        int slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        E element = elements.get(slot);
+        elements.set(slot, null);
+        sequences.set(slot, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.gamevaultcli.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field getters for table columns, resolved once per entity class and column list and then reused.
+ * A null entry in the returned array means the class has no such field.
+ */
+final class ColumnAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final Map<List<Object>, MethodHandle[]> CACHE = new ConcurrentHashMap<>();
+
+    private ColumnAccessors() {}
+
+    static MethodHandle[] forColumns(Class<?> type, List<String> columnNames) {
+        List<Object> key = Arrays.asList(type, List.copyOf(columnNames));
+        return CACHE.computeIfAbsent(key, k -> compile(type, columnNames));
+    }
+
+    static Object get(MethodHandle accessor, Object item) throws Throwable {
+        return (Object) accessor.invokeExact(item);
+    }
+
+    private static MethodHandle[] compile(Class<?> type, List<String> columnNames) {
+        MethodHandle[] accessors = new MethodHandle[columnNames.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            try {
+                Field field = type.getDeclaredField(columnNames.get(i));
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                accessors[i] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                accessors[i] = null;
+            }
+        }
+        return accessors;
+    }
+}
@@ -0,0 +1,192 @@
+package com.project.gamevaultcli.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from int keys to int values, without boxing. Linear probing,
+ * kept at most half full, and removal shifts later entries back instead of leaving
+ * tombstones, so lookups stay short however many keys come and go. Not thread-safe.
+ */
+public class IntIntHashMap {
+
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    private static final int EMPTY = 0; // key 0 is stored out of line, so 0 can mark a free slot
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntHashMap() {
+        this(8);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    public IntIntHashMap(IntIntHashMap other) {
+        keys = other.keys.clone();
+        values = other.values.clone();
+        size = other.size;
+        hasZeroKey = other.hasZeroKey;
+        zeroValue = other.zeroValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return keys[slotOf(key)] == key;
+    }
+
+    public int get(int key, int defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Adds the entry unless the key is already present. Returns whether it was added.
+     */
+    public boolean putIfAbsent(int key, int value) {
+        if (key == EMPTY) {
+            if (hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            size++;
+            return true;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            return false;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the key and returns its value, or the default when it was not present.
+     */
+    public int remove(int key, int defaultValue) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return defaultValue;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] != key) {
+            return defaultValue;
+        }
+        int removed = values[slot];
+        shiftBack(slot);
+        size--;
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    // Ascending, so callers get a stable order
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+        if (hasZeroKey) {
+            result[count++] = 0;
+        }
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[count++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    // The slot holding the key, or the free slot where it would go
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Moves later entries of the probe run into the freed slot so every key stays reachable
+    private void shiftBack(int freed) {
+        int mask = keys.length - 1;
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == EMPTY) {
+                break;
+            }
+            int hash = key * 0x9E3779B9;
+            int home = (hash ^ (hash >>> 16)) & mask;
+            // Move the entry only if its home slot does not lie cyclically in (freed, slot]
+            if (freed <= slot ? (home <= freed || home > slot) : (home <= freed && home > slot)) {
+                keys[freed] = key;
+                values[freed] = values[slot];
+                freed = slot;
+            }
+        }
+        keys[freed] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
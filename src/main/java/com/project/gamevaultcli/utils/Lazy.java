@@ -0,0 +1,37 @@
+package com.project.gamevaultcli.utils;
+
+import java.util.function.Supplier;
+
+/**
+ * A value built on first use and shared afterwards. Threads that ask while it is being built
+ * wait for that one build instead of starting their own.
+ */
+public class Lazy<T> implements Supplier<T> {
+
+    private Supplier<? extends T> factory; // Dropped once the value exists
+    private volatile T value;
+
+    public Lazy(Supplier<? extends T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = factory.get();
+                    value = result;
+                    factory = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isInitialized() {
+        return value != null;
+    }
+}
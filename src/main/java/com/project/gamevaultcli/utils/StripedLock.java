@@ -0,0 +1,26 @@
+package com.project.gamevaultcli.utils;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared by hashing keys onto them. Work on different keys rarely
+ * contends, while the same key always maps to the same lock.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(int minimumStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock forKey(int key) {
+        int hash = key * 0x9E3779B9; // Spread sequential IDs across stripes
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
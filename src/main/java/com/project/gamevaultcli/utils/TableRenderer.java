@@ -0,0 +1,182 @@
+package com.project.gamevaultcli.utils;
+
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams rows out as a text table, gathering the text in one large buffer that is handed to
+ * the print stream whenever it fills, so the stream's own encoding applies.
+ * <p>
+ * Column widths are either supplied by the caller or fixed from the first rows (a bounded
+ * sample); later rows are written as they arrive, and cells wider than their column are
+ * cut short with "...". Only the sample is ever held in memory.
+ * <p>
+ * A column the rows have no field for, or a field that cannot be read, fails the render with an
+ * {@link IllegalArgumentException}. The first row is always read before anything is written,
+ * so a bad column name leaves the output untouched.
+ */
+public class TableRenderer {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final PrintStream out;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+    public TableRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Renders the rows, sizing the columns from at most {@code sampleSize} leading rows.
+     *
+     * @return the number of rows written
+     */
+    public <T> long render(Iterator<T> rows, List<String> columnNames, int sampleSize) {
+        List<String[]> sample = new ArrayList<>();
+        int[] widths = headerWidths(columnNames);
+        CellReader reader = new CellReader(columnNames);
+        while (sample.size() < sampleSize && rows.hasNext()) {
+            String[] cells = reader.read(rows.next());
+            for (int i = 0; i < widths.length; i++) {
+                widths[i] = Math.max(widths[i], cells[i].length());
+            }
+            sample.add(cells);
+        }
+        return write(sample, rows, reader, columnNames, widths);
+    }
+
+    /**
+     * Renders the rows with caller-supplied column widths, without buffering any rows.
+     */
+    public <T> long render(Iterator<T> rows, List<String> columnNames, int[] columnWidths) {
+        int[] widths = headerWidths(columnNames);
+        for (int i = 0; i < widths.length && i < columnWidths.length; i++) {
+            widths[i] = Math.max(widths[i], columnWidths[i]);
+        }
+        CellReader reader = new CellReader(columnNames);
+        List<String[]> first = new ArrayList<>(1);
+        if (rows.hasNext()) {
+            first.add(reader.read(rows.next()));
+        }
+        return write(first, rows, reader, columnNames, widths);
+    }
+
+    private <T> long write(List<String[]> sample, Iterator<T> rows, CellReader reader, List<String> columnNames, int[] widths) {
+        boolean written = false;
+        try {
+            if (sample.isEmpty() && !rows.hasNext()) {
+                buffer.append("No data to display.").append(System.lineSeparator());
+                written = true;
+                return 0;
+            }
+            String separator = separator(widths);
+            StringBuilder line = new StringBuilder(separator.length());
+            writeLine(separator);
+            writeRow(line, columnNames.toArray(new String[0]), widths);
+            writeLine(separator);
+            long count = 0;
+            for (String[] cells : sample) {
+                writeRow(line, cells, widths);
+                count++;
+            }
+            while (rows.hasNext()) {
+                writeRow(line, reader.read(rows.next()), widths);
+                count++;
+            }
+            writeLine(separator);
+            written = true;
+            return count;
+        } finally {
+            if (written) {
+                drain();
+            } else {
+                buffer.setLength(0); // Whatever was already drained stays, but no half-written row is added to it
+            }
+            out.flush();
+        }
+    }
+
+    private void writeRow(StringBuilder line, String[] cells, int[] widths) {
+        line.setLength(0);
+        for (int i = 0; i < widths.length; i++) {
+            String value = cells[i];
+            if (value.length() > widths[i]) {
+                value = widths[i] > 3 ? value.substring(0, widths[i] - 3) + "..." : value.substring(0, widths[i]);
+            }
+            line.append("| ").append(value);
+            for (int pad = value.length(); pad < widths[i]; pad++) {
+                line.append(' ');
+            }
+            line.append(' ');
+        }
+        line.append('|').append(System.lineSeparator());
+        writeLine(line);
+    }
+
+    private void writeLine(CharSequence line) {
+        if (buffer.length() + line.length() > BUFFER_SIZE) {
+            drain();
+        }
+        buffer.append(line);
+    }
+
+    private void drain() {
+        if (buffer.length() > 0) {
+            out.print(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    private static int[] headerWidths(List<String> columnNames) {
+        int[] widths = new int[columnNames.size()];
+        for (int i = 0; i < widths.length; i++) {
+            widths[i] = columnNames.get(i).length();
+        }
+        return widths;
+    }
+
+    private static String separator(int[] widths) {
+        StringBuilder separator = new StringBuilder("+");
+        for (int width : widths) {
+            separator.append("-".repeat(width + 2)).append('+');
+        }
+        return separator.append(System.lineSeparator()).toString();
+    }
+
+    // Turns one entity into its cell strings using the cached column accessors
+    private static final class CellReader {
+        private final List<String> columnNames;
+        private Class<?> accessorType;
+        private MethodHandle[] accessors;
+
+        private CellReader(List<String> columnNames) {
+            this.columnNames = columnNames;
+        }
+
+        private String[] read(Object item) {
+            if (item.getClass() != accessorType) {
+                MethodHandle[] resolved = ColumnAccessors.forColumns(item.getClass(), columnNames);
+                for (int i = 0; i < resolved.length; i++) {
+                    if (resolved[i] == null) {
+                        throw new IllegalArgumentException("No column " + columnNames.get(i) + " in " + item.getClass().getSimpleName());
+                    }
+                }
+                accessorType = item.getClass();
+                accessors = resolved;
+            }
+            String[] cells = new String[accessors.length];
+            for (int i = 0; i < accessors.length; i++) {
+                try {
+                    Object value = ColumnAccessors.get(accessors[i], item);
+                    cells[i] = (value != null) ? value.toString() : "null";
+                } catch (Throwable e) {
+                    throw new IllegalArgumentException("Could not read column " + columnNames.get(i) + " of " + accessorType.getSimpleName() + ": " + e.getMessage(), e);
+                }
+            }
+            return cells;
+        }
+    }
+}
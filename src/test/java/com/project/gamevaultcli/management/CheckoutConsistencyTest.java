@@ -0,0 +1,102 @@
+package com.project.gamevaultcli.management;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.entities.Order;
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.exceptions.CartEmptyException;
+import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.storage.GameStorage;
+import com.project.gamevaultcli.storage.OrderStorage;
+import com.project.gamevaultcli.storage.UserStorage;
+import com.project.gamevaultcli.utils.StripedLock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Several threads per user add games and check out concurrently; afterwards every added game
+ * must be in exactly one order or still in the cart, and every wallet must be debited by
+ * exactly the user's order totals. Throughput is measured by CheckoutBenchmark.
+ */
+class CheckoutConsistencyTest {
+
+    private static final int USERS = 4;
+    private static final int THREADS = 8;
+    private static final int OPS_PER_THREAD = 2_000;
+    private static final float INITIAL_BALANCE = 1_000_000f;
+
+    @Test
+    void concurrentCheckoutsLoseNoUpdates() throws InterruptedException {
+        UserStorage userStorage = new UserStorage();
+        CartStorage cartStorage = new CartStorage();
+        GameStorage gameStorage = new GameStorage();
+        StripedLock userLocks = new StripedLock(64);
+        CartManagement cartManagement = new CartManagement(cartStorage, gameStorage, userLocks);
+        OrderManagement orderManagement = new OrderManagement(new OrderStorage(), cartStorage, userStorage, gameStorage, userLocks);
+
+        int[] userIds = new int[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("user" + i + "@example.com", "password", "user" + i, INITIAL_BALANCE);
+            userStorage.save(user);
+            userIds[i] = user.getUserId();
+        }
+        Game cheap = new Game(1001, "Cheap", "", "", "PC", 1.0f, null);
+        Game expensive = new Game(1002, "Expensive", "", "", "PC", 2.0f, null);
+
+        AtomicLong gamesAdded = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        int userId = userIds[(worker + i) % USERS];
+                        // A game already in the cart is not added twice
+                        if (cartManagement.addGameToCart(userId, i % 2 == 0 ? cheap : expensive)) {
+                            gamesAdded.incrementAndGet();
+                        }
+                        try {
+                            orderManagement.placeOrder(userId);
+                        } catch (CartEmptyException e) {
+                            // Another thread checked this cart out first
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        assertNull(failure.get());
+
+        long gamesAccountedFor = 0;
+        for (int userId : userIds) {
+            double ordered = 0;
+            for (Order order : orderManagement.getOrdersForUser(userId)) {
+                gamesAccountedFor += order.getItems().size();
+                ordered += order.getTotalAmount();
+            }
+            if (cartStorage.findById(userId) != null) {
+                gamesAccountedFor += cartStorage.findById(userId).getGameCount();
+            }
+            double debited = INITIAL_BALANCE - userStorage.findById(userId).getWalletBalance();
+            assertEquals(ordered, debited, 1e-3, "wallet debits of user " + userId);
+        }
+        assertEquals(gamesAdded.get(), gamesAccountedFor, "games ordered or left in carts");
+    }
+}
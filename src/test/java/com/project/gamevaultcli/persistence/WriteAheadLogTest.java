@@ -0,0 +1,177 @@
+package com.project.gamevaultcli.persistence;
+
+import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.storage.UserStorage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Random saves, updates and deletes from several threads, replayed into a fresh storage that
+ * must end up identical to the live one. Small queues and checkpoint intervals make the
+ * writer apply backpressure and compact the log in the middle of the run.
+ */
+class WriteAheadLogTest {
+
+    private static final int THREADS = 4;
+    private static final int OPS_PER_THREAD = 3_000;
+    private static final int IDS = 200;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void groupCommitWithCheckpointsReplaysToLiveState() throws Exception {
+        assertReplaysToLiveState(FsyncPolicy.GROUP, 500);
+    }
+
+    @Test
+    void groupCommitWithoutCheckpointsReplaysToLiveState() throws Exception {
+        assertReplaysToLiveState(FsyncPolicy.GROUP, 0);
+    }
+
+    @Test
+    void directAppendsWithCheckpointsReplayToLiveState() throws Exception {
+        assertReplaysToLiveState(FsyncPolicy.NEVER, 500);
+    }
+
+    @Test
+    void awaitDurableLeavesEveryChangeOnDisk() throws Exception {
+        Path file = directory.resolve("users.wal");
+        UserStorage users = new UserStorage();
+        WriteAheadLog log = open(file, users, FsyncPolicy.GROUP, 0);
+        try {
+            Random random = new Random(7);
+            for (int i = 0; i < 2_000; i++) {
+                mutate(users, random);
+                if (i % 100 == 0) {
+                    log.awaitDurable();
+                    assertSameUsers(users, replayCopy(file, i));
+                }
+            }
+            log.awaitDurable();
+            assertSameUsers(users, replayCopy(file, -1));
+        } finally {
+            log.close();
+        }
+    }
+
+    @Test
+    void replayStopsAtATornRecord() throws Exception {
+        Path file = directory.resolve("users.wal");
+        UserStorage users = new UserStorage();
+        WriteAheadLog log = open(file, users, FsyncPolicy.GROUP, 0);
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            mutate(users, random);
+        }
+        log.close();
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 64, 1, 2, 3})); // A record cut short by a crash
+        }
+
+        UserStorage replayed = new UserStorage();
+        open(file, replayed, FsyncPolicy.GROUP, 0).close();
+        assertSameUsers(users, replayed);
+        assertEquals(intact, Files.size(file));
+    }
+
+    private void assertReplaysToLiveState(FsyncPolicy policy, int checkpointEvery) throws Exception {
+        Path file = directory.resolve("users.wal");
+        UserStorage users = new UserStorage();
+        WriteAheadLog log = new WriteAheadLog(file, policy, 2, checkpointEvery, 64);
+        log.register("users", users, EntityCodecs.USER);
+        log.open();
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    Random random = new Random(seed);
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        mutate(users, random);
+                        if (i % 500 == 0) {
+                            log.awaitDurable();
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        log.close();
+        assertNull(failure.get());
+
+        UserStorage replayed = new UserStorage();
+        open(file, replayed, policy, checkpointEvery).close();
+        assertSameUsers(users, replayed);
+        assertEquals(users.getSequence(), replayed.getSequence(), "ID sequence");
+    }
+
+    // Saves a new user, or updates or deletes one of a small range of IDs so threads collide
+    private static void mutate(UserStorage users, Random random) {
+        int choice = random.nextInt(10);
+        int userId = 1 + random.nextInt(IDS);
+        if (choice < 2) {
+            users.save(new User("new@example.com", "password", "new", random.nextInt(100)));
+        } else if (choice < 7) {
+            users.update(new User(userId, "user@example.com", "password", "user" + random.nextInt(1_000), random.nextInt(100), new Date()));
+        } else {
+            users.delete(userId);
+        }
+    }
+
+    private WriteAheadLog open(Path file, UserStorage users, FsyncPolicy policy, int checkpointEvery) throws IOException {
+        WriteAheadLog log = new WriteAheadLog(file, policy, 2, checkpointEvery);
+        log.register("users", users, EntityCodecs.USER);
+        log.open();
+        return log;
+    }
+
+    // Replays a copy, so the log being written is left alone
+    private UserStorage replayCopy(Path file, int step) throws IOException {
+        Path copy = Files.copy(file, directory.resolve("copy-" + step + ".wal"));
+        UserStorage replayed = new UserStorage();
+        open(copy, replayed, FsyncPolicy.NEVER, 0).close();
+        return replayed;
+    }
+
+    private static void assertSameUsers(UserStorage expected, UserStorage actual) {
+        List<User> expectedUsers = expected.findAll();
+        List<User> actualUsers = actual.findAll();
+        assertEquals(expectedUsers.size(), actualUsers.size(), "user count");
+        for (int i = 0; i < expectedUsers.size(); i++) {
+            User want = expectedUsers.get(i);
+            User got = actualUsers.get(i);
+            assertEquals(want.getUserId(), got.getUserId());
+            assertEquals(want.getUsername(), got.getUsername(), "username of user " + want.getUserId());
+            assertEquals(want.getWalletBalance(), got.getWalletBalance(), "balance of user " + want.getUserId());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.persistence.EntityCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Random puts, removes and scans checked against a TreeMap. The page cache is kept at its
+ * minimum so pages are written back and read again, records range from a few bytes to several
+ * overflow pages, and ID ranges are dense enough to split leaves and inner pages.
+ */
+class BTreeRecordStoreTest {
+
+    private static final EntityCodec<String> STRING = new EntityCodec<>() {
+        @Override
+        public void write(DataOutput out, String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    private BTreeRecordStore<String> store;
+    private final TreeMap<Integer, String> model = new TreeMap<>();
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    void open() throws IOException {
+        store = BTreeRecordStore.create(directory.resolve("records.db"), STRING, 16);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void randomOperationsMatchTreeMap() {
+        for (int op = 0; op < 60_000; op++) {
+            int id = randomId();
+            int choice = random.nextInt(10);
+            if (choice < 5) {
+                String value = randomValue(id);
+                assertEquals(model.put(id, value), store.put(id, value), "put " + id);
+            } else if (choice < 8) {
+                assertEquals(model.remove(id), store.remove(id), "remove " + id);
+            } else {
+                assertEquals(model.get(id), store.get(id), "get " + id);
+                assertEquals(model.containsKey(id), store.containsKey(id), "containsKey " + id);
+            }
+            if (op % 5_000 == 0) {
+                assertMatchesModel();
+            }
+        }
+        assertMatchesModel();
+    }
+
+    @Test
+    void iteratorResumesAfterLeavesChange() {
+        for (int id = 1; id <= 5_000; id++) {
+            String value = randomValue(id);
+            model.put(id, value);
+            store.put(id, value);
+        }
+        Iterator<String> iterator = store.values().iterator();
+        Set<Integer> changed = new HashSet<>();
+        List<Integer> seen = new ArrayList<>();
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            int id = idOf(value);
+            assertTrue(seen.isEmpty() || id > seen.get(seen.size() - 1), "IDs ascend");
+            seen.add(id);
+            if (!changed.contains(id)) {
+                assertEquals(model.get(id), value, "unchanged record " + id);
+            }
+            // Split and shrink the leaves around and ahead of the iterator
+            for (int i = 0; i < 3; i++) {
+                int target = randomId();
+                changed.add(target);
+                if (random.nextBoolean()) {
+                    String replacement = randomValue(target);
+                    model.put(target, replacement);
+                    store.put(target, replacement);
+                } else {
+                    model.remove(target);
+                    store.remove(target);
+                }
+            }
+        }
+        Set<Integer> yielded = new HashSet<>(seen);
+        for (int id : model.keySet()) {
+            if (!changed.contains(id)) {
+                assertTrue(yielded.contains(id), "unchanged record " + id + " was skipped");
+            }
+        }
+        assertMatchesModel();
+    }
+
+    @Test
+    void shuffledInsertsSplitInnerPages() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= 120_000; id++) {
+            ids.add(id);
+        }
+        Collections.shuffle(ids, random);
+        for (int id : ids) {
+            String value = id + ":" + "v".repeat(40);
+            model.put(id, value);
+            store.put(id, value);
+        }
+        assertTrue(store.getPageCount() > 1_100, "more leaves than one inner page can point to");
+        for (int i = 0; i < ids.size(); i += 2) {
+            assertEquals(model.remove(ids.get(i)), store.remove(ids.get(i)));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            int id = 1 + random.nextInt(120_000);
+            assertEquals(model.get(id), store.get(id), "get " + id);
+        }
+        assertMatchesModel();
+    }
+
+    @Test
+    void freedOverflowPagesAreReused() {
+        for (int id = 1; id <= 200; id++) {
+            store.put(id, bigValue(id));
+        }
+        int pages = store.getPageCount();
+        for (int round = 0; round < 5; round++) {
+            for (int id = 1; id <= 200; id++) {
+                assertEquals(bigValue(id), store.remove(id));
+            }
+            assertEquals(0, store.size());
+            for (int id = 1; id <= 200; id++) {
+                store.put(id, bigValue(id));
+            }
+            assertEquals(pages, store.getPageCount(), "pages after round " + round);
+        }
+        for (int id = 1; id <= 200; id++) {
+            assertEquals(bigValue(id), store.get(id));
+        }
+    }
+
+    private void assertMatchesModel() {
+        assertEquals(model.size(), store.size(), "size");
+        assertEquals(new ArrayList<>(model.values()), new ArrayList<>(store.values()), "full scan");
+        int afterId = randomId();
+        assertEquals(new ArrayList<>(model.tailMap(afterId, false).values()), new ArrayList<>(store.valuesAfter(afterId)), "scan after " + afterId);
+        assertFalse(store.valuesAfter(Integer.MAX_VALUE).iterator().hasNext());
+    }
+
+    // Mostly a dense range, with some far-away IDs for deeper, sparser subtrees
+    private int randomId() {
+        return random.nextInt(20) == 0 ? random.nextInt(1_000_000) : 1 + random.nextInt(8_000);
+    }
+
+    // Mostly inline records, some just over the inline limit, a few spanning several overflow pages
+    private String randomValue(int id) {
+        int choice = random.nextInt(100);
+        int length = choice < 85 ? random.nextInt(200) : choice < 97 ? 1_500 + random.nextInt(3_000) : 8_000 + random.nextInt(30_000);
+        StringBuilder value = new StringBuilder().append(id).append(':');
+        for (int i = 0; i < length; i++) {
+            value.append((char) ('a' + random.nextInt(26)));
+        }
+        return value.toString();
+    }
+
+    private static String bigValue(int id) {
+        return id + ":" + String.valueOf((char) ('a' + id % 26)).repeat(5_000 + id * 37);
+    }
+
+    private static int idOf(String value) {
+        return Integer.parseInt(value.substring(0, value.indexOf(':')));
+    }
+}